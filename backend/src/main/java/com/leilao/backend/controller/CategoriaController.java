@@ -6,7 +6,6 @@ import java.util.stream.Collectors;
 import com.leilao.backend.dto.CategoriaDTO;
 import com.leilao.backend.dto.PaginaDTO;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
@@ -15,6 +14,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import com.leilao.backend.model.Categoria;
 import com.leilao.backend.model.Pessoa;
@@ -44,23 +44,20 @@ public class CategoriaController {
         Sort sort = sortDir.equalsIgnoreCase("ASC") ? Sort.by(sortBy).ascending() : Sort.by(sortBy).descending();
         Pageable pageable = PageRequest.of(page, size, sort);
 
-        Page<Categoria> pageResultado;
-        if (nome != null && !nome.isEmpty()) {
-            pageResultado = categoriaService.buscarPorNomePaginado(nome, pageable);
-        } else {
-            pageResultado = categoriaService.listarTodasPaginado(pageable);
-        }
-
-        Page<CategoriaDTO> pageDTOs = pageResultado.map(categoriaService::converterParaDTO);
-        return ResponseEntity.ok(new PaginaDTO<>(pageDTOs));
+        return ResponseEntity.ok(categoriaService.listarPaginado(nome, pageable));
     }
 
     @GetMapping("/lista")
-    public ResponseEntity<List<CategoriaDTO>> listarTodas() {
+    public ResponseEntity<List<CategoriaDTO>> listarTodas(WebRequest request) {
+        // If-None-Match igual: 304 só com a consulta de versões
+        String etag = categoriaService.etagLista();
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
         List<CategoriaDTO> categorias = categoriaService.listarTodas().stream()
             .map(categoriaService::converterParaDTO)
             .collect(Collectors.toList());
-        return ResponseEntity.ok(categorias);
+        return ResponseEntity.ok().eTag(etag).body(categorias);
     }
     
     @GetMapping("/{id}")
@@ -1,7 +1,6 @@
 package com.leilao.backend.controller;
 
 import java.util.List;
-import java.util.stream.Collectors;
 
 import com.leilao.backend.dto.FeedbackDTO;
 import com.leilao.backend.dto.PaginaDTO;
@@ -39,13 +38,18 @@ public class FeedbackController {
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size,
             @RequestParam(defaultValue = "dataHora") String sortBy,
-            @RequestParam(defaultValue = "DESC") String sortDir) {
+            @RequestParam(defaultValue = "DESC") String sortDir,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "true") boolean count) {
 
         Sort sort = sortDir.equalsIgnoreCase("ASC") ? Sort.by(sortBy).ascending() : Sort.by(sortBy).descending();
         Pageable pageable = PageRequest.of(page, size, sort);
 
-        Page<Feedback> pageResultado = feedbackService.listarTodosPaginado(pageable);
-        Page<FeedbackDTO> pageDTOs = pageResultado.map(feedbackService::converterParaDTO);
+        if (!count || cursor != null) {
+            return ResponseEntity.ok(feedbackService.listarSemContagem(pageable, cursor));
+        }
+
+        Page<FeedbackDTO> pageDTOs = feedbackService.listarTodosPaginado(pageable);
 
         return ResponseEntity.ok(new PaginaDTO<>(pageDTOs));
     }
@@ -85,29 +89,20 @@ public class FeedbackController {
 
     @GetMapping("/meus")
     public ResponseEntity<List<FeedbackDTO>> buscarMeusFeedbacks(Authentication auth) {
-        Pessoa autor = pessoaService.buscarPorEmail(auth.getName());
-        List<FeedbackDTO> feedbacks = feedbackService.buscarPorAutor(autor).stream()
-            .map(feedbackService::converterParaDTO)
-            .collect(Collectors.toList());
-        return ResponseEntity.ok(feedbacks);
+        Pessoa autor = (Pessoa) auth.getPrincipal();
+        return ResponseEntity.ok(feedbackService.buscarPorAutor(autor.getId()));
     }
 
     @GetMapping("/recebidos")
     public ResponseEntity<List<FeedbackDTO>> buscarFeedbacksRecebidos(Authentication auth) {
-        Pessoa destinatario = pessoaService.buscarPorEmail(auth.getName());
-        List<FeedbackDTO> feedbacks = feedbackService.buscarPorDestinatario(destinatario).stream()
-            .map(feedbackService::converterParaDTO)
-            .collect(Collectors.toList());
-        return ResponseEntity.ok(feedbacks);
+        Pessoa destinatario = (Pessoa) auth.getPrincipal();
+        return ResponseEntity.ok(feedbackService.buscarPorDestinatario(destinatario.getId()));
     }
 
     @GetMapping("/pessoa/{pessoaId}")
     public ResponseEntity<List<FeedbackDTO>> buscarPorDestinatario(@PathVariable Long pessoaId) {
-        Pessoa destinatario = pessoaService.buscarPorId(pessoaId);
-        List<FeedbackDTO> feedbacks = feedbackService.buscarPorDestinatario(destinatario).stream()
-            .map(feedbackService::converterParaDTO)
-            .collect(Collectors.toList());
-        return ResponseEntity.ok(feedbacks);
+        pessoaService.verificarExistencia(pessoaId);
+        return ResponseEntity.ok(feedbackService.buscarPorDestinatario(pessoaId));
     }
 
     @GetMapping("/pessoa/{pessoaId}/media")
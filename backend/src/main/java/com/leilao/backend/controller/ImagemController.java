@@ -14,6 +14,7 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.multipart.MultipartFile;
 
 import com.leilao.backend.model.Imagem;
@@ -32,11 +33,17 @@ public class ImagemController {
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size,
             @RequestParam(defaultValue = "dataHoraCadastro") String sortBy,
-            @RequestParam(defaultValue = "DESC") String sortDir) {
+            @RequestParam(defaultValue = "DESC") String sortDir,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "true") boolean count) {
 
         Sort sort = sortDir.equalsIgnoreCase("ASC") ? Sort.by(sortBy).ascending() : Sort.by(sortBy).descending();
         Pageable pageable = PageRequest.of(page, size, sort);
 
+        if (!count || cursor != null) {
+            return ResponseEntity.ok(imagemService.listarSemContagem(pageable, cursor));
+        }
+
         Page<Imagem> pageResultado = imagemService.listarTodasPaginado(pageable);
         Page<ImagemDTO> pageDTOs = pageResultado.map(imagemService::converterParaDTO);
 
@@ -66,8 +73,13 @@ public class ImagemController {
     }
     
     @GetMapping("/leilao/{leilaoId}")
-    public ResponseEntity<List<ImagemDTO>> buscarPorLeilao(@PathVariable Long leilaoId) {
+    public ResponseEntity<List<ImagemDTO>> buscarPorLeilao(@PathVariable Long leilaoId, WebRequest request) {
+        // If-None-Match igual: 304 só com a consulta de versão
+        String etag = imagemService.etagPorLeilao(leilaoId);
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
         List<ImagemDTO> imagens = imagemService.buscarPorLeilaoDTO(leilaoId);
-        return ResponseEntity.ok(imagens);
+        return ResponseEntity.ok().eTag(etag).body(imagens);
     }
 }
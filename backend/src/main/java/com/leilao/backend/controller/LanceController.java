@@ -2,25 +2,44 @@ package com.leilao.backend.controller;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import com.leilao.backend.dto.CursorLancesDTO;
+import com.leilao.backend.dto.LanceAutomaticoDTO;
+import com.leilao.backend.dto.LanceHistoricoDTO;
+import com.leilao.backend.dto.LanceCriacaoDTO;
+import com.leilao.backend.dto.LanceResumoDTO;
+import com.leilao.backend.dto.MetricasDiarioDTO;
 import com.leilao.backend.model.Lance;
+import com.leilao.backend.model.LanceAutomatico;
 import com.leilao.backend.model.Leilao;
 import com.leilao.backend.model.Pessoa;
+import com.leilao.backend.service.DiarioLances;
+import com.leilao.backend.service.LanceAutomaticoService;
 import com.leilao.backend.service.LanceService;
 import com.leilao.backend.service.LeilaoService;
+import com.leilao.backend.service.LimitadorLances;
 import com.leilao.backend.service.PessoaService;
+import com.leilao.backend.service.SequenciadorLances;
+import com.leilao.backend.service.TransmissorLances;
 
 import jakarta.validation.Valid;
 
@@ -37,9 +56,24 @@ public class LanceController {
     @Autowired
     private LeilaoService leilaoService;
     
+    @Autowired
+    private SequenciadorLances sequenciadorLances;
+    
+    @Autowired
+    private DiarioLances diarioLances;
+    
+    @Autowired
+    private LanceAutomaticoService lanceAutomaticoService;
+    
+    @Autowired
+    private TransmissorLances transmissorLances;
+    
+    @Autowired
+    private LimitadorLances limitadorLances;
+    
     @GetMapping
-    public ResponseEntity<List<Lance>> listar() {
-        List<Lance> lances = lanceService.listarTodos();
+    public ResponseEntity<List<LanceResumoDTO>> listar() {
+        List<LanceResumoDTO> lances = lanceService.listarTodos();
         return ResponseEntity.ok(lances);
     }
     
@@ -50,11 +84,38 @@ public class LanceController {
     }
     
     @PostMapping
-    public ResponseEntity<Lance> criar(@Valid @RequestBody Lance lance, Authentication auth) {
+    public CompletableFuture<ResponseEntity<Lance>> criar(@Valid @RequestBody LanceCriacaoDTO dto, Authentication auth) {
+        // Limite verificado com o principal já autenticado, antes de qualquer consulta
+        limitadorLances.verificar((Pessoa) auth.getPrincipal(), dto.getLeilaoId());
         Pessoa comprador = pessoaService.buscarPorEmail(auth.getName());
+        Leilao leilao = leilaoService.buscarPorId(dto.getLeilaoId());
+
+        Lance lance = new Lance();
+        lance.setValorLance(dto.getValorLance());
         lance.setComprador(comprador);
+        lance.setLeilao(leilao);
+
+        // app.lances.modo escolhe entre o caminho síncrono e o sequenciado
+        if (sequenciadorLances.isAtivo()) {
+            return sequenciadorLances.submeter(lance)
+                    .thenApply(lanceSalvo -> ResponseEntity.status(HttpStatus.CREATED).body(lanceSalvo));
+        }
         Lance lanceSalvo = lanceService.salvar(lance);
-        return ResponseEntity.status(HttpStatus.CREATED).body(lanceSalvo);
+        return CompletableFuture.completedFuture(ResponseEntity.status(HttpStatus.CREATED).body(lanceSalvo));
+    }
+    
+    @PostMapping("/automatico")
+    public ResponseEntity<LanceAutomaticoDTO> registrarAutomatico(@Valid @RequestBody LanceAutomaticoDTO dto, Authentication auth) {
+        Pessoa comprador = pessoaService.buscarPorEmail(auth.getName());
+        LanceAutomatico automatico = lanceAutomaticoService.registrar(dto, comprador);
+        return ResponseEntity.status(HttpStatus.CREATED).body(lanceAutomaticoService.converterParaDTO(automatico));
+    }
+    
+    @DeleteMapping("/automatico/{leilaoId}")
+    public ResponseEntity<Void> cancelarAutomatico(@PathVariable Long leilaoId, Authentication auth) {
+        Pessoa comprador = pessoaService.buscarPorEmail(auth.getName());
+        lanceAutomaticoService.cancelar(leilaoId, comprador);
+        return ResponseEntity.noContent().build();
     }
     
     @DeleteMapping("/{id}")
@@ -64,24 +125,59 @@ public class LanceController {
     }
     
     @GetMapping("/meus")
-    public ResponseEntity<List<Lance>> buscarMeusLances(Authentication auth) {
-        Pessoa comprador = pessoaService.buscarPorEmail(auth.getName());
-        List<Lance> lances = lanceService.buscarPorComprador(comprador);
+    public ResponseEntity<List<LanceResumoDTO>> buscarMeusLances(Authentication auth) {
+        List<LanceResumoDTO> lances = lanceService.buscarPorComprador((Pessoa) auth.getPrincipal());
         return ResponseEntity.ok(lances);
     }
     
     @GetMapping("/leilao/{leilaoId}")
-    public ResponseEntity<List<Lance>> buscarPorLeilao(@PathVariable Long leilaoId) {
+    public ResponseEntity<List<LanceResumoDTO>> buscarPorLeilao(@PathVariable Long leilaoId) {
         Leilao leilao = leilaoService.buscarPorId(leilaoId);
-        List<Lance> lances = lanceService.buscarPorLeilaoOrdenado(leilao);
+        List<LanceResumoDTO> lances = lanceService.buscarPorLeilaoOrdenado(leilao);
         return ResponseEntity.ok(lances);
     }
     
+    @GetMapping("/leilao/{leilaoId}/historico")
+    public ResponseEntity<CursorLancesDTO> buscarHistorico(
+            @PathVariable Long leilaoId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int tamanho,
+            @RequestParam(required = false) Long desde) {
+        return ResponseEntity.ok(lanceService.buscarHistorico(leilaoId, cursor, tamanho, desde));
+    }
+    
+    @GetMapping("/leilao/{leilaoId}/top")
+    public ResponseEntity<List<LanceHistoricoDTO>> buscarTopo(@PathVariable Long leilaoId,
+                                                              @RequestParam(defaultValue = "10") int n) {
+        return ResponseEntity.ok(lanceService.buscarTopo(leilaoId, n));
+    }
+    
     @GetMapping("/leilao/{leilaoId}/maior")
-    public ResponseEntity<Lance> buscarMaiorLance(@PathVariable Long leilaoId) {
+    public ResponseEntity<Lance> buscarMaiorLance(@PathVariable Long leilaoId, WebRequest request) {
+        Optional<String> etag = lanceService.etagMaiorLance(leilaoId);
+        if (etag.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        // If-None-Match igual: 304 sem carregar o leilão nem o lance
+        if (request.checkNotModified(etag.get())) {
+            return null;
+        }
         Leilao leilao = leilaoService.buscarPorId(leilaoId);
         Optional<Lance> maiorLance = lanceService.buscarMaiorLance(leilao);
-        return maiorLance.map(ResponseEntity::ok)
+        return maiorLance.map(lance -> ResponseEntity.ok().eTag(etag.get()).body(lance))
                         .orElse(ResponseEntity.notFound().build());
     }
+    
+    @GetMapping(value = "/leilao/{leilaoId}/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter stream(@PathVariable Long leilaoId,
+                             @RequestHeader(value = "Last-Event-ID", required = false) Long ultimoEventoId) {
+        leilaoService.buscarPorId(leilaoId);
+        return transmissorLances.assinar(leilaoId, ultimoEventoId);
+    }
+    
+    @GetMapping("/diario/metricas")
+    @PreAuthorize("hasAuthority('ADMIN')")
+    public ResponseEntity<MetricasDiarioDTO> metricasDiario() {
+        return ResponseEntity.ok(diarioLances.metricas());
+    }
 }
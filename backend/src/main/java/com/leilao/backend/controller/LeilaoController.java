@@ -7,11 +7,11 @@ import java.util.List;
 
 import com.leilao.backend.dto.*;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
@@ -24,11 +24,14 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import com.leilao.backend.enums.StatusLeilao;
 import com.leilao.backend.model.Categoria;
 import com.leilao.backend.model.Leilao;
 import com.leilao.backend.model.Pessoa;
+import com.leilao.backend.model.ResumoLeilao;
 import com.leilao.backend.service.CategoriaService;
 import com.leilao.backend.service.LeilaoService;
 import com.leilao.backend.service.PessoaService;
@@ -64,13 +67,11 @@ public class LeilaoController {
         }
     }
 
+    // Array JSON de LeilaoDTO escrito enquanto os leilões são lidos do banco
     @GetMapping
-    public ResponseEntity<List<LeilaoDTO>> listar() {
-        List<Leilao> leiloes = leilaoService.listarTodos();
-        List<LeilaoDTO> leioesDTO = leiloes.stream()
-                .map(LeilaoService::converterParaDTO)
-                .toList();
-        return ResponseEntity.ok(leioesDTO);
+    public ResponseEntity<StreamingResponseBody> listar() {
+        StreamingResponseBody corpo = leilaoService::escreverTodos;
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(corpo);
     }
 
     @GetMapping("/filtros")
@@ -91,7 +92,9 @@ public class LeilaoController {
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size,
             @RequestParam(defaultValue = "dataHoraInicio") String sortBy,
-            @RequestParam(defaultValue = "DESC") String sortDir) {
+            @RequestParam(defaultValue = "DESC") String sortDir,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "true") boolean count) {
 
         LeilaoFilterDTO filtros = new LeilaoFilterDTO();
         filtros.setId(id);
@@ -114,16 +117,55 @@ public class LeilaoController {
         Sort sort = sortDir.equalsIgnoreCase("ASC") ? Sort.by(sortBy).ascending() : Sort.by(sortBy).descending();
         Pageable pageable = PageRequest.of(page, size, sort);
 
-        Page<LeilaoResponseDTO> pageResultado = leilaoService.listarComFiltros(filtros, pageable);
-        PaginaDTO<LeilaoResponseDTO> resultado = new PaginaDTO<>(pageResultado);
-        return ResponseEntity.ok(resultado);
+        // Sem contagem (ou com cursor) não há COUNT nem OFFSET profundo; só hasNext/nextCursor
+        if (!count || cursor != null) {
+            return ResponseEntity.ok(leilaoService.listarSemContagem(filtros, pageable, cursor));
+        }
+
+        return ResponseEntity.ok(leilaoService.listarComFiltros(filtros, pageable));
+    }
+
+    // Cards da listagem (preço, lances, imagem e nota do vendedor) paginados por cursor
+    @GetMapping("/cards")
+    public ResponseEntity<PaginaDTO<ResumoLeilao>> listarCards(
+            @RequestParam(required = false) String titulo,
+            @RequestParam(required = false) StatusLeilao status,
+            @RequestParam(required = false) Long categoriaId,
+            @RequestParam(required = false) Long vendedorId,
+            @RequestParam(required = false) String dataHoraFimFrom,
+            @RequestParam(required = false) String dataHoraFimTo,
+            @RequestParam(required = false) Float precoFrom,
+            @RequestParam(required = false) Float precoTo,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(defaultValue = "dataHoraInicio") String sortBy,
+            @RequestParam(defaultValue = "DESC") String sortDir,
+            @RequestParam(required = false) String cursor) {
+
+        LeilaoFilterDTO filtros = new LeilaoFilterDTO();
+        filtros.setTitulo(titulo);
+        filtros.setStatus(status);
+        filtros.setCategoriaId(categoriaId);
+        filtros.setVendedorId(vendedorId);
+        filtros.setDataHoraFimFrom(parseDateTime(dataHoraFimFrom));
+        filtros.setDataHoraFimTo(parseDateTime(dataHoraFimTo));
+        // Nos cards a faixa de valor vale para o preço atual (maior lance ou lance mínimo)
+        filtros.setLanceMinFrom(precoFrom);
+        filtros.setLanceMinTo(precoTo);
+
+        Sort sort = sortDir.equalsIgnoreCase("ASC") ? Sort.by(sortBy).ascending() : Sort.by(sortBy).descending();
+        return ResponseEntity.ok(leilaoService.listarCards(filtros, PageRequest.of(0, size, sort), cursor));
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<LeilaoResponseDTO> buscarPorId(@PathVariable Long id) {
+    public ResponseEntity<LeilaoResponseDTO> buscarPorId(@PathVariable Long id, WebRequest request) {
+        // If-None-Match igual: 304 só com a consulta de versão
+        String etag = leilaoService.etag(id);
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
         Leilao leilao = leilaoService.buscarPorId(id);
         LeilaoResponseDTO dto = leilaoService.converterParaResponseDTO(leilao);
-        return ResponseEntity.ok(dto);
+        return ResponseEntity.ok().eTag(etag).body(dto);
     }
 
     @PostMapping
@@ -150,41 +192,26 @@ public class LeilaoController {
 
     @GetMapping("/status/{status}")
     public ResponseEntity<List<LeilaoResponseDTO>> buscarPorStatus(@PathVariable StatusLeilao status) {
-        List<Leilao> leiloes = leilaoService.buscarPorStatus(status);
-        List<LeilaoResponseDTO> leioesDTO = leiloes.stream()
-                .map(leilaoService::converterParaResponseDTO)
-                .toList();
-        return ResponseEntity.ok(leioesDTO);
+        return ResponseEntity.ok(leilaoService.buscarPorStatus(status));
     }
 
     @GetMapping("/categoria/{categoriaId}")
     public ResponseEntity<List<LeilaoResponseDTO>> buscarPorCategoria(@PathVariable Long categoriaId) {
         Categoria categoria = categoriaService.buscarPorId(categoriaId);
-        List<Leilao> leiloes = leilaoService.buscarPorCategoria(categoria);
-        List<LeilaoResponseDTO> leioesDTO = leiloes.stream()
-                .map(leilaoService::converterParaResponseDTO)
-                .toList();
-        return ResponseEntity.ok(leioesDTO);
+        return ResponseEntity.ok(leilaoService.buscarPorCategoria(categoria));
     }
 
     @GetMapping("/buscar")
     public ResponseEntity<List<LeilaoResponseDTO>> buscarPorTitulo(@RequestParam String titulo) {
-        List<Leilao> leiloes = leilaoService.buscarPorTitulo(titulo);
-        List<LeilaoResponseDTO> leioesDTO = leiloes.stream()
-                .map(leilaoService::converterParaResponseDTO)
-                .toList();
-        return ResponseEntity.ok(leioesDTO);
+        return ResponseEntity.ok(leilaoService.buscarPorTitulo(titulo));
     }
 
     @GetMapping("/meus")
     @PreAuthorize("hasAnyAuthority('ADMIN', 'VENDEDOR')")
     public ResponseEntity<List<LeilaoResponseDTO>> buscarMeusLeiloes(Authentication auth) {
-        Pessoa vendedor = pessoaService.buscarPorEmail(auth.getName());
-        List<Leilao> leiloes = leilaoService.buscarPorVendedor(vendedor);
-        List<LeilaoResponseDTO> leioesDTO = leiloes.stream()
-                .map(leilaoService::converterParaResponseDTO)
-                .toList();
-        return ResponseEntity.ok(leioesDTO);
+        // O filtro JWT já carregou a pessoa autenticada
+        Pessoa vendedor = (Pessoa) auth.getPrincipal();
+        return ResponseEntity.ok(leilaoService.buscarPorVendedor(vendedor));
     }
 
     @PutMapping("/{id}/abrir")
@@ -210,4 +237,25 @@ public class LeilaoController {
         LeilaoResponseDTO dto = leilaoService.converterParaResponseDTO(leilao);
         return ResponseEntity.ok(dto);
     }
+
+    @PutMapping("/abrir")
+    @PreAuthorize("hasAuthority('ADMIN')")
+    public ResponseEntity<TransicaoLoteDTO> abrirLeiloes(@Valid @RequestBody TransicaoLoteDTO dto) {
+        dto.setAlterados(leilaoService.abrirLeiloes(dto.getIds()));
+        return ResponseEntity.ok(dto);
+    }
+
+    @PutMapping("/encerrar")
+    @PreAuthorize("hasAuthority('ADMIN')")
+    public ResponseEntity<TransicaoLoteDTO> encerrarLeiloes(@Valid @RequestBody TransicaoLoteDTO dto) {
+        dto.setAlterados(leilaoService.encerrarLeiloes(dto.getIds()));
+        return ResponseEntity.ok(dto);
+    }
+
+    @PutMapping("/cancelar")
+    @PreAuthorize("hasAuthority('ADMIN')")
+    public ResponseEntity<TransicaoLoteDTO> cancelarLeiloes(@Valid @RequestBody TransicaoLoteDTO dto) {
+        dto.setAlterados(leilaoService.cancelarLeiloes(dto.getIds()));
+        return ResponseEntity.ok(dto);
+    }
 }
@@ -3,7 +3,6 @@ package com.leilao.backend.controller;
 import com.leilao.backend.dto.*;
 import com.leilao.backend.exception.NegocioExcecao;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
@@ -35,7 +34,9 @@ public class PessoaController {
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size,
             @RequestParam(defaultValue = "nome") String sortBy,
-            @RequestParam(defaultValue = "ASC") String sortDir) {
+            @RequestParam(defaultValue = "ASC") String sortDir,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "true") boolean count) {
 
         PessoaFilterDTO filtros = new PessoaFilterDTO();
         filtros.setNome(nome);
@@ -45,10 +46,11 @@ public class PessoaController {
         Sort sort = sortDir.equalsIgnoreCase("ASC") ? Sort.by(sortBy).ascending() : Sort.by(sortBy).descending();
         Pageable pageable = PageRequest.of(page, size, sort);
 
-        Page<Pessoa> pageResultado = pessoaService.buscarComFiltros(filtros, pageable);
-        Page<PessoaRespostaDTO> pageDTOs = pageResultado.map(pessoaService::converterParaDTO);
+        if (!count || cursor != null) {
+            return ResponseEntity.ok(pessoaService.buscarSemContagem(filtros, pageable, cursor));
+        }
 
-        return ResponseEntity.ok(new PaginaDTO<>(pageDTOs));
+        return ResponseEntity.ok(pessoaService.buscarComFiltros(filtros, pageable));
     }
 
     @GetMapping("/{id}")
@@ -0,0 +1,12 @@
+package com.leilao.backend.dto;
+
+import java.util.List;
+
+import lombok.Data;
+
+@Data
+public class ComandoHubLancesDTO {
+    // assinar ou cancelar
+    private String acao;
+    private List<Long> leiloes;
+}
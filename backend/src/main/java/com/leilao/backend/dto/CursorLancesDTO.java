@@ -0,0 +1,18 @@
+package com.leilao.backend.dto;
+
+import java.util.List;
+
+import lombok.Data;
+
+@Data
+public class CursorLancesDTO {
+    private List<LanceHistoricoDTO> conteudo;
+    private String proximoCursor;
+    private boolean temMais;
+
+    public CursorLancesDTO(List<LanceHistoricoDTO> conteudo, String proximoCursor, boolean temMais) {
+        this.conteudo = conteudo;
+        this.proximoCursor = proximoCursor;
+        this.temMais = temMais;
+    }
+}
@@ -6,10 +6,12 @@ import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Size;
 import lombok.Data;
+import lombok.NoArgsConstructor;
 
 import java.time.LocalDateTime;
 
 @Data
+@NoArgsConstructor
 public class FeedbackDTO {
     private Long id;
 
@@ -29,5 +31,17 @@ public class FeedbackDTO {
     private String autorNome;
     private String destinatarioNome;
     private LocalDateTime dataHora;
-}
 
+    // Usado pelas consultas de listagem (SELECT new)
+    public FeedbackDTO(Long id, String comentario, Integer nota, LocalDateTime dataHora,
+                       Long autorId, String autorNome, Long destinatarioId, String destinatarioNome) {
+        this.id = id;
+        this.comentario = comentario;
+        this.nota = nota;
+        this.dataHora = dataHora;
+        this.autorId = autorId;
+        this.autorNome = autorNome;
+        this.destinatarioId = destinatarioId;
+        this.destinatarioNome = destinatarioNome;
+    }
+}
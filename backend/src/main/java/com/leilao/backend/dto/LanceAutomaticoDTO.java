@@ -0,0 +1,22 @@
+package com.leilao.backend.dto;
+
+import java.time.LocalDateTime;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import lombok.Data;
+
+@Data
+public class LanceAutomaticoDTO {
+    private Long id;
+
+    @NotNull(message = "Leilão é obrigatório")
+    private Long leilaoId;
+
+    @NotNull(message = "Valor máximo é obrigatório")
+    @Positive(message = "Valor máximo deve ser maior que zero")
+    private Float valorMaximo;
+
+    private Boolean ativo;
+    private LocalDateTime dataHora;
+}
@@ -0,0 +1,16 @@
+package com.leilao.backend.dto;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import lombok.Data;
+
+@Data
+public class LanceCriacaoDTO {
+
+    @NotNull(message = "Leilão é obrigatório")
+    private Long leilaoId;
+
+    @NotNull(message = "Valor do lance é obrigatório")
+    @Positive(message = "Valor do lance deve ser maior que zero")
+    private Float valorLance;
+}
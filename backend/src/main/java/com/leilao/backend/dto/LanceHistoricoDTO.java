@@ -0,0 +1,32 @@
+package com.leilao.backend.dto;
+
+import java.time.LocalDateTime;
+
+import lombok.Data;
+
+@Data
+public class LanceHistoricoDTO {
+    private Long id;
+    private Float valorLance;
+    private LocalDateTime dataHora;
+    private String comprador;
+
+    public LanceHistoricoDTO(Long id, Float valorLance, LocalDateTime dataHora, String nomeComprador) {
+        this.id = id;
+        this.valorLance = valorLance;
+        this.dataHora = dataHora;
+        this.comprador = mascarar(nomeComprador);
+    }
+
+    // "Maria Silva" -> "M***a": o histórico é público e não expõe o comprador
+    private static String mascarar(String nome) {
+        if (nome == null || nome.isBlank()) {
+            return "***";
+        }
+        String limpo = nome.trim();
+        if (limpo.length() < 3) {
+            return limpo.charAt(0) + "***";
+        }
+        return limpo.charAt(0) + "***" + limpo.charAt(limpo.length() - 1);
+    }
+}
@@ -0,0 +1,22 @@
+package com.leilao.backend.dto;
+
+import java.time.LocalDateTime;
+
+import lombok.Data;
+
+/**
+ * Lance nas listagens: as mesmas propriedades que o JSON de Lance já expunha, lidas
+ * sem montar a entidade.
+ */
+@Data
+public class LanceResumoDTO {
+    private Long id;
+    private Float valorLance;
+    private LocalDateTime dataHora;
+
+    public LanceResumoDTO(Long id, Float valorLance, LocalDateTime dataHora) {
+        this.id = id;
+        this.valorLance = valorLance;
+        this.dataHora = dataHora;
+    }
+}
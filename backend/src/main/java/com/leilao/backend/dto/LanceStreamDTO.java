@@ -0,0 +1,22 @@
+package com.leilao.backend.dto;
+
+import java.time.LocalDateTime;
+
+import lombok.Data;
+
+@Data
+public class LanceStreamDTO {
+    private Long lanceId;
+    private Long leilaoId;
+    private Float valorLance;
+    private LocalDateTime dataHora;
+    private Long totalLances;
+
+    public LanceStreamDTO(Long lanceId, Long leilaoId, Float valorLance, LocalDateTime dataHora, Long totalLances) {
+        this.lanceId = lanceId;
+        this.leilaoId = leilaoId;
+        this.valorLance = valorLance;
+        this.dataHora = dataHora;
+        this.totalLances = totalLances;
+    }
+}
@@ -2,10 +2,12 @@ package com.leilao.backend.dto;
 
 import com.leilao.backend.enums.StatusLeilao;
 import lombok.Data;
+import lombok.NoArgsConstructor;
 
 import java.time.LocalDateTime;
 
 @Data
+@NoArgsConstructor
 public class LeilaoDTO {
     private Long id;
     private String titulo;
@@ -18,4 +20,18 @@ public class LeilaoDTO {
     private Float valorIncremento;
     private Float lanceMinimo;
     private String categoriaNome;
+
+    // Usado pelo SELECT new da listagem completa em fluxo
+    public LeilaoDTO(Long id, String titulo, String descricao, Float lanceMinimo, LocalDateTime dataHoraInicio,
+                     LocalDateTime dataHoraFim, StatusLeilao status, Float valorIncremento, String categoriaNome) {
+        this.id = id;
+        this.titulo = titulo;
+        this.descricao = descricao;
+        this.lanceMinimo = lanceMinimo;
+        this.dataHoraInicio = dataHoraInicio;
+        this.dataHoraFim = dataHoraFim;
+        this.status = status;
+        this.valorIncremento = valorIncremento;
+        this.categoriaNome = categoriaNome;
+    }
 }
\ No newline at end of file
@@ -21,6 +21,30 @@ public class LeilaoResponseDTO {
     private String vendedorNome;
     private String vendedorEmail;
 
+    public LeilaoResponseDTO() {
+    }
+
+    // Usado pelas consultas de listagem (SELECT new): tudo menos a descrição detalhada
+    public LeilaoResponseDTO(Long id, String titulo, String descricao, LocalDateTime dataHoraInicio,
+                             LocalDateTime dataHoraFim, StatusLeilao status, String observacao,
+                             Float valorIncremento, Float lanceMinimo, Long categoriaId, String categoriaNome,
+                             Long vendedorId, String vendedorNome, String vendedorEmail) {
+        this.id = id;
+        this.titulo = titulo;
+        this.descricao = descricao;
+        this.dataHoraInicio = dataHoraInicio;
+        this.dataHoraFim = dataHoraFim;
+        this.status = status;
+        this.observacao = observacao;
+        this.valorIncremento = valorIncremento;
+        this.lanceMinimo = lanceMinimo;
+        this.categoriaId = categoriaId;
+        this.categoriaNome = categoriaNome;
+        this.vendedorId = vendedorId;
+        this.vendedorNome = vendedorNome;
+        this.vendedorEmail = vendedorEmail;
+    }
+
     // Getters e Setters
     public Long getId() {
         return id;
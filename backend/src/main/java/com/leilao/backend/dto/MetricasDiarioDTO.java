@@ -0,0 +1,26 @@
+package com.leilao.backend.dto;
+
+import lombok.Data;
+
+@Data
+public class MetricasDiarioDTO {
+
+    private long totalLotes;
+    private long totalLances;
+    private double tamanhoMedioLote;
+    private long maiorLote;
+    private double latenciaMediaMs;
+    private double latenciaMaximaMs;
+    private double ultimaLatenciaMs;
+
+    public MetricasDiarioDTO(long totalLotes, long totalLances, long maiorLote,
+                             long latenciaTotalNanos, long latenciaMaximaNanos, long ultimaLatenciaNanos) {
+        this.totalLotes = totalLotes;
+        this.totalLances = totalLances;
+        this.tamanhoMedioLote = totalLotes > 0 ? (double) totalLances / totalLotes : 0;
+        this.maiorLote = maiorLote;
+        this.latenciaMediaMs = totalLotes > 0 ? latenciaTotalNanos / 1_000_000.0 / totalLotes : 0;
+        this.latenciaMaximaMs = latenciaMaximaNanos / 1_000_000.0;
+        this.ultimaLatenciaMs = ultimaLatenciaNanos / 1_000_000.0;
+    }
+}
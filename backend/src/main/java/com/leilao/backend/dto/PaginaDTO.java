@@ -1,23 +1,33 @@
 package com.leilao.backend.dto;
 
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
 
 import java.util.List;
 
 /**
  * DTO customizado para serialização estável de páginas
  * Resolve o warning: "Serializing PageImpl instances as-is is not supported"
+ * Sem contagem (count=false ou paginação por cursor) os totais ficam de fora e só
+ * hasNext/nextCursor indicam se há mais itens. Com totalEstimated o total é um piso,
+ * não uma contagem exata.
  */
+@JsonInclude(JsonInclude.Include.NON_NULL)
 public class PaginaDTO<T> {
     
     private List<T> content;
     private int pageNumber;
     private int pageSize;
-    private long totalElements;
-    private int totalPages;
+    private Long totalElements;
+    private Integer totalPages;
+    private Boolean totalEstimated;
     private boolean first;
     private boolean last;
     private boolean empty;
+    private boolean hasNext;
+    private String nextCursor;
 
     public PaginaDTO() {
     }
@@ -31,6 +41,26 @@ public class PaginaDTO<T> {
         this.first = page.isFirst();
         this.last = page.isLast();
         this.empty = page.isEmpty();
+        this.hasNext = page.hasNext();
+        this.totalEstimated = false;
+    }
+
+    public PaginaDTO(Slice<T> slice, long totalElements, boolean totalEstimated) {
+        this(slice, null);
+        this.totalElements = totalElements;
+        this.totalPages = slice.getSize() == 0 ? 1 : (int) Math.ceil((double) totalElements / slice.getSize());
+        this.totalEstimated = totalEstimated;
+    }
+
+    public PaginaDTO(Slice<T> slice, String nextCursor) {
+        this.content = slice.getContent();
+        this.pageNumber = slice.getNumber();
+        this.pageSize = slice.getSize();
+        this.first = slice.isFirst();
+        this.last = slice.isLast();
+        this.empty = slice.isEmpty();
+        this.hasNext = slice.hasNext();
+        this.nextCursor = nextCursor;
     }
 
     // Getters e Setters
@@ -58,22 +88,30 @@ public class PaginaDTO<T> {
         this.pageSize = pageSize;
     }
 
-    public long getTotalElements() {
+    public Long getTotalElements() {
         return totalElements;
     }
 
-    public void setTotalElements(long totalElements) {
+    public void setTotalElements(Long totalElements) {
         this.totalElements = totalElements;
     }
 
-    public int getTotalPages() {
+    public Integer getTotalPages() {
         return totalPages;
     }
 
-    public void setTotalPages(int totalPages) {
+    public void setTotalPages(Integer totalPages) {
         this.totalPages = totalPages;
     }
 
+    public Boolean getTotalEstimated() {
+        return totalEstimated;
+    }
+
+    public void setTotalEstimated(Boolean totalEstimated) {
+        this.totalEstimated = totalEstimated;
+    }
+
     public boolean isFirst() {
         return first;
     }
@@ -97,5 +135,20 @@ public class PaginaDTO<T> {
     public void setEmpty(boolean empty) {
         this.empty = empty;
     }
-}
 
+    public boolean isHasNext() {
+        return hasNext;
+    }
+
+    public void setHasNext(boolean hasNext) {
+        this.hasNext = hasNext;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+}
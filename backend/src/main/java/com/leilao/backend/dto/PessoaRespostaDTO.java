@@ -31,6 +31,12 @@ public class PessoaRespostaDTO {
         this.pessoaPerfil = pessoaPerfil;
     }
 
+    // Usado pela listagem (SELECT new): sem a foto, e os perfis preenchidos depois em lote
+    public PessoaRespostaDTO(Long id, String nome, String email, String codigoValidacao,
+                           Date validadeCodigoValidacao, Boolean ativo) {
+        this(id, nome, email, codigoValidacao, validadeCodigoValidacao, ativo, null, null);
+    }
+
     // Getters e Setters
     public Long getId() {
         return id;
@@ -0,0 +1,17 @@
+package com.leilao.backend.dto;
+
+import java.util.List;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+@Data
+public class TransicaoLoteDTO {
+    @NotEmpty(message = "Informe ao menos um leilão")
+    @Size(max = 1000, message = "No máximo 1000 leilões por requisição")
+    private List<Long> ids;
+
+    // Preenchido na resposta
+    private Integer alterados;
+}
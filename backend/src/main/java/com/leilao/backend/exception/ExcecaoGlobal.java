@@ -3,6 +3,8 @@ package com.leilao.backend.exception;
 import java.util.List;
 import java.util.stream.Collectors;
 
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.BadCredentialsException;
@@ -37,6 +39,25 @@ public class ExcecaoGlobal {
         return new ResponseEntity<>(respostaErro, HttpStatus.UNPROCESSABLE_ENTITY);
     }
 
+    // Outra operação gravou o registro (campo @Version) entre a leitura e a gravação
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<RespostaErro> conflito(OptimisticLockingFailureException ex, WebRequest request) {
+        RespostaErro respostaErro = new RespostaErro(HttpStatus.CONFLICT.value(), "Conflito",
+                "O registro foi alterado por outra operação. Recarregue e tente novamente.",
+                request.getDescription(false), null);
+        return new ResponseEntity<>(respostaErro, HttpStatus.CONFLICT);
+    }
+
+    @ExceptionHandler(LimiteExcedidoExcecao.class)
+    public ResponseEntity<RespostaErro> limiteExcedido(LimiteExcedidoExcecao ex, WebRequest request) {
+        RespostaErro respostaErro = new RespostaErro(HttpStatus.TOO_MANY_REQUESTS.value(), "Muitas Requisições",
+                ex.getMessage(),
+                request.getDescription(false), null);
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getSegundosParaNovaTentativa()))
+                .body(respostaErro);
+    }
+
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ResponseEntity<RespostaErro> validacao(MethodArgumentNotValidException ex, WebRequest request) {
         List<String> erros = ex.getBindingResult().getFieldErrors().stream()
@@ -0,0 +1,15 @@
+package com.leilao.backend.exception;
+
+public class LimiteExcedidoExcecao extends RuntimeException {
+
+    private final long segundosParaNovaTentativa;
+
+    public LimiteExcedidoExcecao(String mensagem, long segundosParaNovaTentativa) {
+        super(mensagem);
+        this.segundosParaNovaTentativa = segundosParaNovaTentativa;
+    }
+
+    public long getSegundosParaNovaTentativa() {
+        return segundosParaNovaTentativa;
+    }
+}
@@ -3,9 +3,14 @@ package com.leilao.backend.model;
 import java.util.List;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.leilao.backend.service.InvalidacaoContagens;
+
+import org.hibernate.annotations.ColumnDefault;
 
 import jakarta.persistence.CascadeType;
+import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
 import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
@@ -14,10 +19,12 @@ import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.OneToMany;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 import jakarta.validation.constraints.NotBlank;
 import lombok.Data;
 
 @Entity
+@EntityListeners(InvalidacaoContagens.class)
 @Data
 @Table(name = "categoria")
 public class Categoria {
@@ -29,6 +36,12 @@ public class Categoria {
     private String nome;
     
     private String observacao;
+
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    @JsonIgnore
+    private Long versao;
     
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "criador_id")
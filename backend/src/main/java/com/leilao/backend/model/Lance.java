@@ -9,6 +9,7 @@ import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.Table;
@@ -17,7 +18,9 @@ import lombok.Data;
 
 @Entity
 @Data
-@Table(name = "lance")
+@Table(name = "lance", indexes = {
+    @Index(name = "idx_lance_leilao_valor_id", columnList = "leilao_id, valor_lance, id")
+})
 public class Lance {
     @Id
     @GeneratedValue(strategy = GenerationType.AUTO)
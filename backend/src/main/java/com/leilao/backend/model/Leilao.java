@@ -5,27 +5,49 @@ import java.util.List;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.leilao.backend.enums.StatusLeilao;
+import com.leilao.backend.service.InvalidacaoContagens;
+
+import org.hibernate.annotations.ColumnDefault;
 
 import jakarta.persistence.CascadeType;
+import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
 import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
 import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.NamedAttributeNode;
+import jakarta.persistence.NamedEntityGraph;
 import jakarta.persistence.OneToMany;
 import jakarta.persistence.OneToOne;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import lombok.Data;
 
 @Entity
+@EntityListeners(InvalidacaoContagens.class)
+// Tudo que converterParaResponseDTO/converterParaDTO lê, num único SELECT por listagem
+@NamedEntityGraph(name = "Leilao.listagem", attributeNodes = {
+    @NamedAttributeNode("categoria"),
+    @NamedAttributeNode("vendedor"),
+    @NamedAttributeNode("pagamento")
+})
 @Data
-@Table(name = "leilao")
+@Table(name = "leilao", indexes = {
+    @Index(name = "idx_leilao_status", columnList = "status"),
+    @Index(name = "idx_leilao_categoria", columnList = "categoria_id"),
+    @Index(name = "idx_leilao_vendedor", columnList = "vendedor_id"),
+    @Index(name = "idx_leilao_inicio", columnList = "data_hora_inicio"),
+    @Index(name = "idx_leilao_fim", columnList = "data_hora_fim")
+})
 public class Leilao {
     @Id
     @GeneratedValue(strategy = GenerationType.AUTO)
@@ -56,6 +78,29 @@ public class Leilao {
     @NotNull(message = "Lance mínimo é obrigatório")
     private Float lanceMinimo;
 
+    // Maior lance aceito, mantido pelo UPDATE condicional de LeilaoRepository.aceitarLance.
+    // Fora do UPDATE da entidade: salvar um leilão carregado antes de um lance não o apaga
+    @Column(updatable = false)
+    private Float valorLanceAtual;
+
+    @Column(updatable = false)
+    private Long lanceAtualId;
+
+    @Column(updatable = false)
+    private Integer totalLances = 0;
+
+    // Base do ETag: incrementada a cada alteração pela entidade e, entre os UPDATEs em lote do
+    // repositório, só nos que mudam colunas de LeilaoResponseDTO (status, dataHoraFim). Lances e
+    // arquivamento não a mudam
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    @JsonIgnore
+    private Long versao;
+
+    // Preenchida quando os lances foram movidos para o arquivo colunar (ArquivoLances)
+    private LocalDateTime dataArquivamento;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "vendedor_id")
     @JsonIgnore
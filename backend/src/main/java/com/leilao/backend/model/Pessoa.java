@@ -11,9 +11,11 @@ import org.springframework.security.core.userdetails.UserDetails;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonProperty;
+import com.leilao.backend.service.InvalidacaoContagens;
 
 import jakarta.persistence.CascadeType;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
 import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
@@ -30,6 +32,7 @@ import lombok.Data;
 import lombok.Setter;
 
 @Entity
+@EntityListeners(InvalidacaoContagens.class)
 @Data
 @Table(name = "pessoa")
 public class Pessoa implements UserDetails {
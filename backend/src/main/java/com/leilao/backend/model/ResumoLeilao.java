@@ -0,0 +1,80 @@
+package com.leilao.backend.model;
+
+import java.time.LocalDateTime;
+
+import com.leilao.backend.enums.StatusLeilao;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.Data;
+
+/**
+ * Linha pronta para o card de um leilão na listagem: dados do leilão, maior lance,
+ * primeira imagem e avaliação do vendedor. Não é editada pela aplicação: é derivada das
+ * outras tabelas por ProjecaoResumoLeiloes a cada alteração.
+ */
+@Entity
+@Data
+@Table(name = "resumo_leilao", indexes = {
+    @Index(name = "idx_resumo_status_inicio", columnList = "status, data_hora_inicio"),
+    @Index(name = "idx_resumo_categoria_inicio", columnList = "categoria_id, data_hora_inicio"),
+    @Index(name = "idx_resumo_vendedor", columnList = "vendedor_id"),
+    @Index(name = "idx_resumo_fim", columnList = "data_hora_fim"),
+    // Ordenações sem filtro da listagem por cursor, com o id como desempate
+    @Index(name = "idx_resumo_inicio_id", columnList = "data_hora_inicio, id"),
+    @Index(name = "idx_resumo_preco_id", columnList = "preco, id")
+})
+public class ResumoLeilao {
+    // Mesmo id do leilão
+    @Id
+    private Long id;
+
+    @Column(nullable = false)
+    private String titulo;
+
+    @Column(nullable = false)
+    @Enumerated(EnumType.STRING)
+    private StatusLeilao status;
+
+    @Column(nullable = false)
+    private LocalDateTime dataHoraInicio;
+
+    @Column(nullable = false)
+    private LocalDateTime dataHoraFim;
+
+    @Column(nullable = false)
+    private Float lanceMinimo;
+
+    @Column(nullable = false)
+    private Float valorIncremento;
+
+    private Float valorLanceAtual;
+
+    // Maior lance ou, sem lances, o lance mínimo
+    @Column(nullable = false)
+    private Float preco;
+
+    @Column(nullable = false)
+    private Integer totalLances;
+
+    private Long categoriaId;
+
+    private String categoriaNome;
+
+    private Long vendedorId;
+
+    private String vendedorNome;
+
+    private Double notaVendedor;
+
+    private Long avaliacoesVendedor;
+
+    private String urlImagem;
+
+    private LocalDateTime atualizadoEm;
+}
@@ -0,0 +1,17 @@
+package com.leilao.backend.repository;
+
+import org.springframework.data.jpa.domain.Specification;
+
+import com.leilao.backend.model.Categoria;
+
+public final class CategoriaSpecifications {
+
+    private CategoriaSpecifications() {
+    }
+
+    public static Specification<Categoria> comNome(String nome) {
+        return (root, query, cb) -> nome == null || nome.isEmpty()
+                ? cb.conjunction()
+                : cb.like(cb.lower(root.get("nome")), "%" + nome.toLowerCase() + "%");
+    }
+}
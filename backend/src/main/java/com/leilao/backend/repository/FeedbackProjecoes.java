@@ -0,0 +1,18 @@
+package com.leilao.backend.repository;
+
+import java.util.List;
+
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import com.leilao.backend.dto.FeedbackDTO;
+import com.leilao.backend.model.Feedback;
+
+/**
+ * Listagem de feedbacks projetada em FeedbackDTO (implementada em FeedbackProjecoesImpl
+ * e incorporada ao FeedbackRepository).
+ */
+public interface FeedbackProjecoes {
+
+    List<FeedbackDTO> listarRespostas(Specification<Feedback> filtro, Sort sort, long deslocamento, int limite);
+}
@@ -0,0 +1,36 @@
+package com.leilao.backend.repository;
+
+import java.util.List;
+
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import com.leilao.backend.dto.FeedbackDTO;
+import com.leilao.backend.model.Feedback;
+import com.leilao.backend.model.Pessoa;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Selection;
+
+class FeedbackProjecoesImpl implements FeedbackProjecoes {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    // Mesmas colunas de FeedbackRepository.RESPOSTAS
+    @Override
+    public List<FeedbackDTO> listarRespostas(Specification<Feedback> filtro, Sort sort, long deslocamento,
+                                             int limite) {
+        return ProjecoesCriteria.listar(entityManager, Feedback.class, FeedbackDTO.class, (root, cb) -> {
+            Join<Feedback, Pessoa> autor = root.join("autor", JoinType.LEFT);
+            Join<Feedback, Pessoa> destinatario = root.join("destinatario", JoinType.LEFT);
+            return new Selection<?>[] {
+                    root.get("id"), root.get("comentario"), root.get("nota"), root.get("dataHora"),
+                    autor.get("id"), autor.get("nome"), destinatario.get("id"), destinatario.get("nome")
+            };
+        }, filtro, sort, deslocamento, limite);
+    }
+}
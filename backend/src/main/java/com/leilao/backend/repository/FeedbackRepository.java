@@ -1,20 +1,37 @@
 package com.leilao.backend.repository;
 
+import java.util.Collection;
 import java.util.List;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import com.leilao.backend.dto.FeedbackDTO;
 import com.leilao.backend.model.Feedback;
 import com.leilao.backend.model.Pessoa;
 
 @Repository
-public interface FeedbackRepository extends JpaRepository<Feedback, Long> {
-    List<Feedback> findByAutor(Pessoa autor);
-    List<Feedback> findByDestinatario(Pessoa destinatario);
+public interface FeedbackRepository extends JpaRepository<Feedback, Long>, JpaSpecificationExecutor<Feedback>,
+        FeedbackProjecoes {
+
+    // Colunas de FeedbackDTO nas listagens: só id e nome de autor e destinatário
+    String RESPOSTAS = "SELECT new com.leilao.backend.dto.FeedbackDTO(f.id, f.comentario, f.nota, f.dataHora, " +
+            "a.id, a.nome, d.id, d.nome) FROM Feedback f LEFT JOIN f.autor a LEFT JOIN f.destinatario d ";
+
+    @Query(RESPOSTAS + "WHERE f.autor.id = :autorId")
+    List<FeedbackDTO> listarRespostasPorAutor(@Param("autorId") Long autorId);
+
+    @Query(RESPOSTAS + "WHERE f.destinatario.id = :destinatarioId")
+    List<FeedbackDTO> listarRespostasPorDestinatario(@Param("destinatarioId") Long destinatarioId);
 
     @Query("SELECT AVG(f.nota) FROM Feedback f WHERE f.destinatario = :pessoa")
     Double findMediaNotasByDestinatario(@Param("pessoa") Pessoa pessoa);
+
+    // (destinatarioId, média, quantidade) de quem recebeu ao menos um feedback
+    @Query("SELECT f.destinatario.id, AVG(f.nota), COUNT(f) FROM Feedback f " +
+            "WHERE f.destinatario.id IN :destinatarioIds GROUP BY f.destinatario.id")
+    List<Object[]> findAvaliacoesPorDestinatarios(@Param("destinatarioIds") Collection<Long> destinatarioIds);
 }
@@ -1,14 +1,23 @@
 package com.leilao.backend.repository;
 
+import java.util.Collection;
 import java.util.List;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.leilao.backend.model.Imagem;
 import com.leilao.backend.model.Leilao;
 
 @Repository
-public interface ImagemRepository extends JpaRepository<Imagem, Long> {
+public interface ImagemRepository extends JpaRepository<Imagem, Long>, JpaSpecificationExecutor<Imagem> {
     List<Imagem> findByLeilao(Leilao leilao);
+
+    // Primeira imagem cadastrada de cada leilão: (leilaoId, nomeImagem)
+    @Query("SELECT i.leilao.id, i.nomeImagem FROM Imagem i WHERE i.id IN " +
+            "(SELECT MIN(x.id) FROM Imagem x WHERE x.leilao.id IN :leilaoIds GROUP BY x.leilao.id)")
+    List<Object[]> findPrimeirasPorLeiloes(@Param("leilaoIds") Collection<Long> leilaoIds);
 }
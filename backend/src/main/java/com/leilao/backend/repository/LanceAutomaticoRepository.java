@@ -0,0 +1,34 @@
+package com.leilao.backend.repository;
+
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.leilao.backend.model.LanceAutomatico;
+import com.leilao.backend.model.Leilao;
+import com.leilao.backend.model.Pessoa;
+
+@Repository
+public interface LanceAutomaticoRepository extends JpaRepository<LanceAutomatico, Long> {
+    Optional<LanceAutomatico> findByLeilaoAndCompradorAndAtivoTrue(Leilao leilao, Pessoa comprador);
+
+    // Comprador já carregado: o lance gerado é publicado fora da sessão, com o nome dele
+    @Query("SELECT a FROM LanceAutomatico a JOIN FETCH a.comprador WHERE a.leilao.id = :leilaoId AND a.ativo = true " +
+            "ORDER BY a.valorMaximo DESC, a.dataHora ASC")
+    List<LanceAutomatico> findAtivosPorLeilao(@Param("leilaoId") Long leilaoId);
+
+    @Query("SELECT DISTINCT a.leilao.id FROM LanceAutomatico a WHERE a.ativo = true")
+    List<Long> findLeiloesComAtivos();
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE LanceAutomatico a SET a.ativo = false " +
+            "WHERE a.leilao.id = :leilaoId AND a.ativo = true AND a.valorMaximo < :valorMinimo")
+    int desativarEsgotados(@Param("leilaoId") Long leilaoId, @Param("valorMinimo") Float valorMinimo);
+}
@@ -1,25 +1,73 @@
 package com.leilao.backend.repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import com.leilao.backend.dto.LanceHistoricoDTO;
+import com.leilao.backend.dto.LanceResumoDTO;
 import com.leilao.backend.model.Lance;
 import com.leilao.backend.model.Leilao;
-import com.leilao.backend.model.Pessoa;
 
 @Repository
 public interface LanceRepository extends JpaRepository<Lance, Long> {
-    List<Lance> findByComprador(Pessoa comprador);
     List<Lance> findByLeilao(Leilao leilao);
+    long countByLeilao(Leilao leilao);
 
-    @Query("SELECT l FROM Lance l WHERE l.leilao = :leilao ORDER BY l.valorLance DESC")
-    List<Lance> findByLeilaoOrderByValorLanceDesc(@Param("leilao") Leilao leilao);
+    // Listagens: só as colunas do JSON, sem entidades no contexto de persistência
+    @Query("SELECT new com.leilao.backend.dto.LanceResumoDTO(l.id, l.valorLance, l.dataHora) FROM Lance l")
+    List<LanceResumoDTO> listarResumos();
+
+    @Query("SELECT new com.leilao.backend.dto.LanceResumoDTO(l.id, l.valorLance, l.dataHora) " +
+           "FROM Lance l WHERE l.comprador.id = :compradorId")
+    List<LanceResumoDTO> listarResumosPorComprador(@Param("compradorId") Long compradorId);
+
+    @Query("SELECT new com.leilao.backend.dto.LanceResumoDTO(l.id, l.valorLance, l.dataHora) " +
+           "FROM Lance l WHERE l.leilao.id = :leilaoId ORDER BY l.valorLance DESC")
+    List<LanceResumoDTO> listarResumosPorLeilao(@Param("leilaoId") Long leilaoId);
 
     @Query("SELECT l FROM Lance l WHERE l.leilao = :leilao ORDER BY l.valorLance DESC LIMIT 1")
     Optional<Lance> findMaiorLanceByLeilao(@Param("leilao") Leilao leilao);
+
+    // Histórico por keyset sobre o índice (leilao_id, valor_lance, id)
+    @Query("SELECT new com.leilao.backend.dto.LanceHistoricoDTO(l.id, l.valorLance, l.dataHora, c.nome) " +
+           "FROM Lance l JOIN l.comprador c " +
+           "WHERE l.leilao.id = :leilaoId AND l.id > :desde " +
+           "ORDER BY l.valorLance DESC, l.id DESC")
+    List<LanceHistoricoDTO> findHistorico(@Param("leilaoId") Long leilaoId, @Param("desde") Long desde, Limit limit);
+
+    @Query("SELECT new com.leilao.backend.dto.LanceHistoricoDTO(l.id, l.valorLance, l.dataHora, c.nome) " +
+           "FROM Lance l JOIN l.comprador c " +
+           "WHERE l.leilao.id = :leilaoId AND l.id > :desde " +
+           "AND (l.valorLance < :valor OR (l.valorLance = :valor AND l.id < :id)) " +
+           "ORDER BY l.valorLance DESC, l.id DESC")
+    List<LanceHistoricoDTO> findHistoricoApos(@Param("leilaoId") Long leilaoId, @Param("desde") Long desde,
+                                              @Param("valor") Float valor, @Param("id") Long id, Limit limit);
+
+    @Query("SELECT l FROM Lance l WHERE l.leilao.id = :leilaoId ORDER BY l.valorLance DESC, l.id DESC")
+    List<Lance> findParaArquivo(@Param("leilaoId") Long leilaoId);
+
+    @Query("SELECT l.id FROM Lance l WHERE l.leilao.dataArquivamento IS NOT NULL")
+    List<Long> findIdsArquivados(Limit limit);
+
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM Lance l WHERE l.id IN :ids")
+    int deleteByIdIn(@Param("ids") Collection<Long> ids);
+
+    // Vencedor de cada leilão: maior valor, depois o lance mais antigo (e o menor id)
+    @Query("SELECT l.leilao.id, l.comprador.id, l.valorLance FROM Lance l " +
+           "WHERE l.leilao.id IN :leilaoIds AND NOT EXISTS (" +
+           "SELECT 1 FROM Lance o WHERE o.leilao = l.leilao AND (o.valorLance > l.valorLance " +
+           "OR (o.valorLance = l.valorLance AND (o.dataHora < l.dataHora " +
+           "OR (o.dataHora = l.dataHora AND o.id < l.id)))))")
+    List<Object[]> findVencedores(@Param("leilaoIds") Collection<Long> leilaoIds);
 }
@@ -0,0 +1,18 @@
+package com.leilao.backend.repository;
+
+import java.util.List;
+
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import com.leilao.backend.dto.LeilaoResponseDTO;
+import com.leilao.backend.model.Leilao;
+
+/**
+ * Listagem filtrada de leilões projetada em LeilaoResponseDTO (implementada em
+ * LeilaoProjecoesImpl e incorporada ao LeilaoRepository).
+ */
+public interface LeilaoProjecoes {
+
+    List<LeilaoResponseDTO> listarRespostas(Specification<Leilao> filtro, Sort sort, long deslocamento, int limite);
+}
@@ -0,0 +1,40 @@
+package com.leilao.backend.repository;
+
+import java.util.List;
+
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import com.leilao.backend.dto.LeilaoResponseDTO;
+import com.leilao.backend.model.Categoria;
+import com.leilao.backend.model.Leilao;
+import com.leilao.backend.model.Pessoa;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Selection;
+
+class LeilaoProjecoesImpl implements LeilaoProjecoes {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    // Mesmas colunas de LeilaoRepository.RESPOSTAS
+    @Override
+    public List<LeilaoResponseDTO> listarRespostas(Specification<Leilao> filtro, Sort sort, long deslocamento,
+                                                   int limite) {
+        return ProjecoesCriteria.listar(entityManager, Leilao.class, LeilaoResponseDTO.class, (root, cb) -> {
+            Join<Leilao, Categoria> categoria = root.join("categoria", JoinType.LEFT);
+            Join<Leilao, Pessoa> vendedor = root.join("vendedor", JoinType.LEFT);
+            return new Selection<?>[] {
+                    root.get("id"), root.get("titulo"), root.get("descricao"), root.get("dataHoraInicio"),
+                    root.get("dataHoraFim"), root.get("status"), root.get("observacao"),
+                    root.get("valorIncremento"), root.get("lanceMinimo"),
+                    categoria.get("id"), categoria.get("nome"),
+                    vendedor.get("id"), vendedor.get("nome"), vendedor.get("email")
+            };
+        }, filtro, sort, deslocamento, limite);
+    }
+}
@@ -1,46 +1,171 @@
 package com.leilao.backend.repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
-import com.leilao.backend.dto.LeilaoFilterDTO;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import com.leilao.backend.dto.LeilaoDTO;
+import com.leilao.backend.dto.LeilaoResponseDTO;
 import com.leilao.backend.enums.StatusLeilao;
-import com.leilao.backend.model.Categoria;
 import com.leilao.backend.model.Leilao;
-import com.leilao.backend.model.Pessoa;
+
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
 
 @Repository
-public interface LeilaoRepository extends JpaRepository<Leilao, Long> {
-    List<Leilao> findByVendedor(Pessoa vendedor);
-    List<Leilao> findByCategoria(Categoria categoria);
+public interface LeilaoRepository extends JpaRepository<Leilao, Long>, JpaSpecificationExecutor<Leilao>,
+        LeilaoProjecoes {
+
+    // Colunas de LeilaoResponseDTO nas listagens; a descrição detalhada fica para GET /leiloes/{id}
+    String RESPOSTAS = "SELECT new com.leilao.backend.dto.LeilaoResponseDTO(l.id, l.titulo, l.descricao, " +
+            "l.dataHoraInicio, l.dataHoraFim, l.status, l.observacao, l.valorIncremento, l.lanceMinimo, " +
+            "c.id, c.nome, v.id, v.nome, v.email) FROM Leilao l LEFT JOIN l.categoria c LEFT JOIN l.vendedor v ";
+
+    @EntityGraph("Leilao.listagem")
     List<Leilao> findByStatus(StatusLeilao status);
-    List<Leilao> findByTituloContainingIgnoreCase(String titulo);
+
+    @Query(RESPOSTAS + "WHERE l.vendedor.id = :vendedorId")
+    List<LeilaoResponseDTO> listarRespostasPorVendedor(@Param("vendedorId") Long vendedorId);
+
+    @Query(RESPOSTAS + "WHERE l.categoria.id = :categoriaId")
+    List<LeilaoResponseDTO> listarRespostasPorCategoria(@Param("categoriaId") Long categoriaId);
+
+    @Query(RESPOSTAS + "WHERE l.status = :status")
+    List<LeilaoResponseDTO> listarRespostasPorStatus(@Param("status") StatusLeilao status);
+
+    @Query(RESPOSTAS + "WHERE LOWER(l.titulo) LIKE LOWER(CONCAT('%', :titulo, '%'))")
+    List<LeilaoResponseDTO> listarRespostasPorTitulo(@Param("titulo") String titulo);
+
+    @Query(RESPOSTAS + "WHERE l.id IN :ids")
+    List<LeilaoResponseDTO> listarRespostasPorIds(@Param("ids") Collection<Long> ids);
 
     @Query("SELECT l FROM Leilao l WHERE l.status = :status ORDER BY l.dataHoraInicio ASC")
     List<Leilao> findByStatusOrderByDataHoraInicio(@Param("status") StatusLeilao status);
 
-    @Query("SELECT l FROM Leilao l " +
-            "LEFT JOIN l.categoria c " +
-            "LEFT JOIN l.vendedor v " +
-            "WHERE 1=1 " +
-            "AND (:#{#filters.id} IS NULL OR l.id = :#{#filters.id}) " +
-            "AND (:#{#filters.titulo} IS NULL OR LOWER(l.titulo) LIKE LOWER(CONCAT('%', :#{#filters.titulo}, '%'))) " +
-            "AND (:#{#filters.status} IS NULL OR l.status = :#{#filters.status}) " +
-            "AND (:#{#filters.categoriaId} IS NULL OR c.id = :#{#filters.categoriaId}) " +
-            "AND (:#{#filters.categoriaNome} IS NULL OR LOWER(c.nome) LIKE LOWER(CONCAT('%', :#{#filters.categoriaNome}, '%'))) " +
-            "AND (:#{#filters.vendedorId} IS NULL OR v.id = :#{#filters.vendedorId}) " +
-            "AND (:#{#filters.vendedorNome} IS NULL OR LOWER(v.nome) LIKE LOWER(CONCAT('%', :#{#filters.vendedorNome}, '%'))) " +
-            "AND (:#{#filters.dataHoraInicioFrom} IS NULL OR l.dataHoraInicio >= :#{#filters.dataHoraInicioFrom}) " +
-            "AND (:#{#filters.dataHoraInicioTo} IS NULL OR l.dataHoraInicio <= :#{#filters.dataHoraInicioTo}) " +
-            "AND (:#{#filters.dataHoraFimFrom} IS NULL OR l.dataHoraFim >= :#{#filters.dataHoraFimFrom}) " +
-            "AND (:#{#filters.dataHoraFimTo} IS NULL OR l.dataHoraFim <= :#{#filters.dataHoraFimTo}) " +
-            "AND (:#{#filters.lanceMinFrom} IS NULL OR l.lanceMinimo >= :#{#filters.lanceMinFrom}) " +
-            "AND (:#{#filters.lanceMinTo} IS NULL OR l.lanceMinimo <= :#{#filters.lanceMinTo})")
-    Page<Leilao> findWithFilters(@Param("filters") LeilaoFilterDTO filters, Pageable pageable);
+    @Modifying
+    @Query("UPDATE Leilao l SET l.valorLanceAtual = :valor, " +
+            "l.totalLances = COALESCE(l.totalLances, 0) + 1 " +
+            "WHERE l.id = :leilaoId " +
+            "AND l.status = com.leilao.backend.enums.StatusLeilao.ABERTO " +
+            "AND ((l.valorLanceAtual IS NULL AND l.lanceMinimo <= :valor) " +
+            "OR l.valorLanceAtual + l.valorIncremento <= :valor)")
+    int aceitarLance(@Param("leilaoId") Long leilaoId, @Param("valor") Float valor);
+
+    @Modifying
+    @Query("UPDATE Leilao l SET l.lanceAtualId = " +
+            "(SELECT MAX(x.id) FROM Lance x WHERE x.leilao = l AND x.valorLance = l.valorLanceAtual) " +
+            "WHERE l.id IN :ids")
+    int atualizarLanceAtual(@Param("ids") Collection<Long> ids);
+
+    // Colunas do lance atual refeitas a partir da tabela de lances
+    String RECALCULO_LANCES = "UPDATE Leilao l SET " +
+            "l.valorLanceAtual = (SELECT MAX(x.valorLance) FROM Lance x WHERE x.leilao = l), " +
+            "l.totalLances = (SELECT CAST(COUNT(x) AS Integer) FROM Lance x WHERE x.leilao = l), " +
+            "l.lanceAtualId = (SELECT MAX(x.id) FROM Lance x WHERE x.leilao = l AND x.valorLance = " +
+            "(SELECT MAX(y.valorLance) FROM Lance y WHERE y.leilao = l)) ";
+
+    @Modifying
+    @Transactional
+    @Query(RECALCULO_LANCES + "WHERE l.id = :id")
+    int recalcularLances(@Param("id") Long id);
+
+    // Leilões com lances gravados antes das colunas existirem
+    @Modifying
+    @Transactional
+    @Query(RECALCULO_LANCES + "WHERE l.valorLanceAtual IS NULL AND l.dataArquivamento IS NULL " +
+            "AND EXISTS (SELECT 1 FROM Lance x WHERE x.leilao = l)")
+    int preencherLancesAusentes();
+
+    @Query("SELECT l.id FROM Leilao l WHERE l.status IN :status AND l.dataArquivamento IS NULL " +
+            "AND l.dataHoraFim < :limite ORDER BY l.dataHoraFim ASC")
+    List<Long> findIdsParaArquivar(@Param("status") Collection<StatusLeilao> status,
+                                   @Param("limite") LocalDateTime limite, Limit limit);
+
+    @Query("SELECT l.id, l.dataHoraFim FROM Leilao l WHERE l.status = com.leilao.backend.enums.StatusLeilao.ABERTO")
+    List<Object[]> findPrazosAbertos();
+
+    @Query("SELECT l.id, l.dataHoraFim FROM Leilao l WHERE l.id IN :ids " +
+            "AND l.status = com.leilao.backend.enums.StatusLeilao.ABERTO")
+    List<Object[]> findPrazosAbertosPorIds(@Param("ids") Collection<Long> ids);
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE Leilao l SET l.status = :novo, l.versao = l.versao + 1 WHERE l.id IN :ids AND l.status IN :permitidos")
+    int transicionarStatus(@Param("ids") Collection<Long> ids, @Param("permitidos") Collection<StatusLeilao> permitidos,
+                           @Param("novo") StatusLeilao novo);
+
+    // Tudo que muda LeilaoResponseDTO sem passar pela versão do leilão: categoria e vendedor
+    @Query("SELECT l.versao, c.versao, v.nome, v.email FROM Leilao l LEFT JOIN l.categoria c " +
+            "LEFT JOIN l.vendedor v WHERE l.id = :id")
+    List<Object[]> findVersaoResposta(@Param("id") Long id);
+
+    // Imagens não são editadas: quantidade e maior id mudam a cada inclusão ou exclusão
+    @Query("SELECT COUNT(i), MAX(i.id) FROM Leilao l LEFT JOIN l.imagens i WHERE l.id = :id GROUP BY l.id")
+    List<Object[]> findVersaoImagens(@Param("id") Long id);
+
+    // Sequência do último lance; depois do arquivamento os lances não mudam mais
+    @Query("SELECT l.dataArquivamento, (SELECT MAX(x.id) FROM Lance x WHERE x.leilao = l) " +
+            "FROM Leilao l WHERE l.id = :id")
+    List<Object[]> findVersaoLances(@Param("id") Long id);
+
+    // Trava as linhas ainda no status: o UPDATE seguinte na transação altera exatamente estas
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT l.id FROM Leilao l WHERE l.id IN :ids AND l.status = :status")
+    List<Long> travarIdsPorStatus(@Param("ids") Collection<Long> ids, @Param("status") StatusLeilao status);
+
+    @Query("SELECT l.id FROM Leilao l WHERE l.id IN :ids AND l.status = :status")
+    List<Long> findIdsPorStatus(@Param("ids") Collection<Long> ids, @Param("status") StatusLeilao status);
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE Leilao l SET l.dataHoraFim = :fim, l.versao = l.versao + 1 WHERE l.id = :id AND l.dataHoraFim < :fim")
+    int prorrogar(@Param("id") Long id, @Param("fim") LocalDateTime fim);
+
+    @Query("SELECT l.dataArquivamento FROM Leilao l WHERE l.id = :id")
+    Optional<LocalDateTime> findDataArquivamento(@Param("id") Long id);
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE Leilao l SET l.dataArquivamento = :data WHERE l.id = :id")
+    int marcarArquivado(@Param("id") Long id, @Param("data") LocalDateTime data);
+
+    // Integer.MIN_VALUE faz o driver do MySQL entregar as linhas uma a uma, sem carregar tudo
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + Integer.MIN_VALUE))
+    @Query("SELECT l.id, l.titulo, l.descricao, c.nome FROM Leilao l LEFT JOIN l.categoria c")
+    Stream<Object[]> streamParaIndice();
+
+    // Projeção e não Stream<Leilao>: o lado inverso do OneToOne de pagamento não é lazy e
+    // cada entidade lida dispararia um SELECT do pagamento no meio do streaming
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + Integer.MIN_VALUE))
+    @Query("SELECT new com.leilao.backend.dto.LeilaoDTO(l.id, l.titulo, l.descricao, l.lanceMinimo, " +
+            "l.dataHoraInicio, l.dataHoraFim, l.status, l.valorIncremento, c.nome) " +
+            "FROM Leilao l LEFT JOIN l.categoria c ORDER BY l.id")
+    Stream<LeilaoDTO> streamTodos();
+
+    @Query("SELECT l.id, l.titulo, l.descricao, c.nome FROM Leilao l JOIN l.categoria c WHERE c.id = :categoriaId")
+    List<Object[]> findParaIndicePorCategoria(@Param("categoriaId") Long categoriaId);
+
+    // Colunas do card (ResumoLeilao); lance e imagem vêm em consultas separadas
+    @Query("SELECT l.id, l.titulo, l.status, l.dataHoraInicio, l.dataHoraFim, l.lanceMinimo, l.valorIncremento, " +
+            "l.valorLanceAtual, l.totalLances, c.id, c.nome, v.id, v.nome " +
+            "FROM Leilao l LEFT JOIN l.categoria c LEFT JOIN l.vendedor v WHERE l.id IN :ids")
+    List<Object[]> findParaResumo(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT l.id FROM Leilao l WHERE l.id > :id ORDER BY l.id")
+    List<Long> findIdsApos(@Param("id") Long id, Limit limite);
 }
@@ -0,0 +1,92 @@
+package com.leilao.backend.repository;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.jpa.domain.Specification;
+
+import com.leilao.backend.dto.LeilaoFilterDTO;
+import com.leilao.backend.model.Categoria;
+import com.leilao.backend.model.Leilao;
+import com.leilao.backend.model.Pessoa;
+
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.Predicate;
+
+/**
+ * Filtros de leilão montados só com os campos informados, para que o banco possa usar o
+ * índice da coluna filtrada. Categoria e vendedor só entram no JOIN quando o nome deles é
+ * filtrado; filtros por id usam a própria chave estrangeira de leilao. O título é resolvido
+ * antes pelo índice de busca (IndiceBuscaLeiloes) e chega como lista de ids; sem ela
+ * volta ao LIKE.
+ */
+public final class LeilaoSpecifications {
+
+    private LeilaoSpecifications() {
+    }
+
+    public static Specification<Leilao> comFiltros(LeilaoFilterDTO filtros, Collection<Long> idsBusca) {
+        return (root, query, cb) -> {
+            List<Predicate> predicados = new ArrayList<>();
+            if (filtros.getId() != null) {
+                predicados.add(cb.equal(root.get("id"), filtros.getId()));
+            }
+            if (temTexto(filtros.getTitulo())) {
+                if (idsBusca == null) {
+                    predicados.add(contem(cb, root.get("titulo"), filtros.getTitulo()));
+                } else if (idsBusca.isEmpty()) {
+                    predicados.add(cb.disjunction());
+                } else {
+                    predicados.add(root.get("id").in(idsBusca));
+                }
+            }
+            if (filtros.getStatus() != null) {
+                predicados.add(cb.equal(root.get("status"), filtros.getStatus()));
+            }
+            if (filtros.getCategoriaId() != null) {
+                predicados.add(cb.equal(root.get("categoria").get("id"), filtros.getCategoriaId()));
+            }
+            if (temTexto(filtros.getCategoriaNome())) {
+                Join<Leilao, Categoria> categoria = root.join("categoria");
+                predicados.add(contem(cb, categoria.get("nome"), filtros.getCategoriaNome()));
+            }
+            if (filtros.getVendedorId() != null) {
+                predicados.add(cb.equal(root.get("vendedor").get("id"), filtros.getVendedorId()));
+            }
+            if (temTexto(filtros.getVendedorNome())) {
+                Join<Leilao, Pessoa> vendedor = root.join("vendedor");
+                predicados.add(contem(cb, vendedor.get("nome"), filtros.getVendedorNome()));
+            }
+            if (filtros.getDataHoraInicioFrom() != null) {
+                predicados.add(cb.greaterThanOrEqualTo(root.get("dataHoraInicio"), filtros.getDataHoraInicioFrom()));
+            }
+            if (filtros.getDataHoraInicioTo() != null) {
+                predicados.add(cb.lessThanOrEqualTo(root.get("dataHoraInicio"), filtros.getDataHoraInicioTo()));
+            }
+            if (filtros.getDataHoraFimFrom() != null) {
+                predicados.add(cb.greaterThanOrEqualTo(root.get("dataHoraFim"), filtros.getDataHoraFimFrom()));
+            }
+            if (filtros.getDataHoraFimTo() != null) {
+                predicados.add(cb.lessThanOrEqualTo(root.get("dataHoraFim"), filtros.getDataHoraFimTo()));
+            }
+            if (filtros.getLanceMinFrom() != null) {
+                predicados.add(cb.greaterThanOrEqualTo(root.get("lanceMinimo"), filtros.getLanceMinFrom()));
+            }
+            if (filtros.getLanceMinTo() != null) {
+                predicados.add(cb.lessThanOrEqualTo(root.get("lanceMinimo"), filtros.getLanceMinTo()));
+            }
+            return cb.and(predicados.toArray(new Predicate[0]));
+        };
+    }
+
+    private static boolean temTexto(String valor) {
+        return valor != null && !valor.isBlank();
+    }
+
+    private static Predicate contem(CriteriaBuilder cb, Expression<String> campo, String valor) {
+        return cb.like(cb.lower(campo), "%" + valor.toLowerCase() + "%");
+    }
+}
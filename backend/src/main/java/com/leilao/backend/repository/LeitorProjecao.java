@@ -0,0 +1,16 @@
+package com.leilao.backend.repository;
+
+import java.util.List;
+
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+/**
+ * Leitura de uma faixa de DTOs montados direto na consulta (sem carregar entidades),
+ * usada pela paginação com contagem (CacheContagens) e por cursor (PaginacaoCursor).
+ */
+@FunctionalInterface
+public interface LeitorProjecao<T, R> {
+
+    List<R> ler(Specification<T> filtro, Sort sort, long deslocamento, int limite);
+}
@@ -1,9 +1,12 @@
 package com.leilao.backend.repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.leilao.backend.model.Leilao;
@@ -13,4 +16,8 @@ import com.leilao.backend.model.Pagamento;
 public interface PagamentoRepository extends JpaRepository<Pagamento, Long> {
     Optional<Pagamento> findByLeilao(Leilao leilao);
     List<Pagamento> findByStatus(String status);
+    boolean existsByLeilao(Leilao leilao);
+
+    @Query("SELECT p.leilao.id FROM Pagamento p WHERE p.leilao.id IN :leilaoIds")
+    List<Long> findLeiloesComPagamento(@Param("leilaoIds") Collection<Long> leilaoIds);
 }
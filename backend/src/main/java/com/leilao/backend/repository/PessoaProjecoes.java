@@ -0,0 +1,18 @@
+package com.leilao.backend.repository;
+
+import java.util.List;
+
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import com.leilao.backend.dto.PessoaRespostaDTO;
+import com.leilao.backend.model.Pessoa;
+
+/**
+ * Listagem filtrada de pessoas projetada em PessoaRespostaDTO, sem a foto de perfil
+ * (implementada em PessoaProjecoesImpl e incorporada ao PessoaRepository).
+ */
+public interface PessoaProjecoes {
+
+    List<PessoaRespostaDTO> listarRespostas(Specification<Pessoa> filtro, Sort sort, long deslocamento, int limite);
+}
@@ -0,0 +1,62 @@
+package com.leilao.backend.repository;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import com.leilao.backend.dto.PessoaRespostaDTO;
+import com.leilao.backend.enums.TipoPerfil;
+import com.leilao.backend.model.Perfil;
+import com.leilao.backend.model.Pessoa;
+import com.leilao.backend.model.PessoaPerfil;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.Selection;
+
+class PessoaProjecoesImpl implements PessoaProjecoes {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<PessoaRespostaDTO> listarRespostas(Specification<Pessoa> filtro, Sort sort, long deslocamento,
+                                                   int limite) {
+        List<PessoaRespostaDTO> respostas = ProjecoesCriteria.listar(entityManager, Pessoa.class,
+                PessoaRespostaDTO.class, (root, cb) -> new Selection<?>[] {
+                        root.get("id"), root.get("nome"), root.get("email"), root.get("codigoValidacao"),
+                        root.get("validadeCodigoValidacao"), root.get("ativo")
+                }, filtro, sort, deslocamento, limite);
+        preencherPerfis(respostas);
+        return respostas;
+    }
+
+    // Perfis da página inteira numa consulta só, montados sem carregar PessoaPerfil (que traz a Pessoa junto)
+    private void preencherPerfis(List<PessoaRespostaDTO> respostas) {
+        if (respostas.isEmpty()) {
+            return;
+        }
+        Map<Long, PessoaRespostaDTO> porId = respostas.stream()
+                .collect(Collectors.toMap(PessoaRespostaDTO::getId, Function.identity()));
+        porId.values().forEach(resposta -> resposta.setPessoaPerfil(new ArrayList<>()));
+        List<Object[]> linhas = entityManager.createQuery(
+                "SELECT pp.pessoa.id, pp.id, p.id, p.tipo FROM PessoaPerfil pp JOIN pp.perfil p " +
+                "WHERE pp.pessoa.id IN :ids ORDER BY pp.id", Object[].class)
+                .setParameter("ids", porId.keySet())
+                .getResultList();
+        for (Object[] linha : linhas) {
+            Perfil perfil = new Perfil();
+            perfil.setId((Long) linha[2]);
+            perfil.setTipo((TipoPerfil) linha[3]);
+            PessoaPerfil pessoaPerfil = new PessoaPerfil();
+            pessoaPerfil.setId((Long) linha[1]);
+            pessoaPerfil.setPerfil(perfil);
+            porId.get((Long) linha[0]).getPessoaPerfil().add(pessoaPerfil);
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.leilao.backend.repository;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.data.jpa.domain.Specification;
+
+import com.leilao.backend.dto.PessoaFilterDTO;
+import com.leilao.backend.model.Pessoa;
+
+import jakarta.persistence.criteria.Predicate;
+
+/**
+ * Filtros da listagem de pessoas, só com os campos informados.
+ */
+public final class PessoaSpecifications {
+
+    private PessoaSpecifications() {
+    }
+
+    public static Specification<Pessoa> comFiltros(PessoaFilterDTO filtros) {
+        return (root, query, cb) -> {
+            List<Predicate> predicados = new ArrayList<>();
+            if (filtros.getNome() != null) {
+                predicados.add(cb.like(cb.lower(root.get("nome")), "%" + filtros.getNome().toLowerCase() + "%"));
+            }
+            if (filtros.getEmail() != null) {
+                predicados.add(cb.like(cb.lower(root.get("email")), "%" + filtros.getEmail().toLowerCase() + "%"));
+            }
+            if (filtros.getAtivo() != null) {
+                predicados.add(cb.equal(root.get("ativo"), filtros.getAtivo()));
+            }
+            return cb.and(predicados.toArray(new Predicate[0]));
+        };
+    }
+}
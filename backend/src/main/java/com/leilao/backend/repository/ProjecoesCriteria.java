@@ -0,0 +1,45 @@
+package com.leilao.backend.repository;
+
+import java.util.List;
+import java.util.function.BiFunction;
+
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+
+/**
+ * SELECT new Dto(...) com Criteria, para aplicar as mesmas Specifications das entidades
+ * lendo só as colunas do DTO: nada entra no contexto de persistência.
+ */
+final class ProjecoesCriteria {
+
+    private ProjecoesCriteria() {
+    }
+
+    static <T, R> List<R> listar(EntityManager entityManager, Class<T> entidade, Class<R> resultado,
+                                 BiFunction<Root<T>, CriteriaBuilder, Selection<?>[]> colunas,
+                                 Specification<T> filtro, Sort sort, long deslocamento, int limite) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<R> consulta = cb.createQuery(resultado);
+        Root<T> root = consulta.from(entidade);
+        consulta.select(cb.construct(resultado, colunas.apply(root, cb)));
+        Predicate predicado = filtro.toPredicate(root, consulta, cb);
+        if (predicado != null) {
+            consulta.where(predicado);
+        }
+        if (sort.isSorted()) {
+            consulta.orderBy(QueryUtils.toOrders(sort, root, cb));
+        }
+        return entityManager.createQuery(consulta)
+                .setFirstResult(Math.toIntExact(deslocamento))
+                .setMaxResults(limite)
+                .getResultList();
+    }
+}
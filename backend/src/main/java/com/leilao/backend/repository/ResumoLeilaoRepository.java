@@ -0,0 +1,28 @@
+package com.leilao.backend.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.leilao.backend.model.ResumoLeilao;
+
+@Repository
+public interface ResumoLeilaoRepository extends JpaRepository<ResumoLeilao, Long>,
+        JpaSpecificationExecutor<ResumoLeilao> {
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE ResumoLeilao r SET r.notaVendedor = :nota, r.avaliacoesVendedor = :avaliacoes " +
+            "WHERE r.vendedorId = :vendedorId")
+    int atualizarAvaliacaoVendedor(@Param("vendedorId") Long vendedorId, @Param("nota") Double nota,
+                                   @Param("avaliacoes") Long avaliacoes);
+
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM ResumoLeilao r WHERE NOT EXISTS (SELECT 1 FROM Leilao l WHERE l.id = r.id)")
+    int excluirOrfaos();
+}
@@ -0,0 +1,59 @@
+package com.leilao.backend.repository;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.jpa.domain.Specification;
+
+import com.leilao.backend.dto.LeilaoFilterDTO;
+import com.leilao.backend.model.ResumoLeilao;
+
+import jakarta.persistence.criteria.Predicate;
+
+/**
+ * Filtros dos cards de leilão, todos sobre colunas do próprio resumo (sem JOIN). Como em
+ * LeilaoSpecifications, o título chega resolvido pelo índice de busca quando ele está pronto.
+ */
+public final class ResumoLeilaoSpecifications {
+
+    private ResumoLeilaoSpecifications() {
+    }
+
+    public static Specification<ResumoLeilao> comFiltros(LeilaoFilterDTO filtros, Collection<Long> idsBusca) {
+        return (root, query, cb) -> {
+            List<Predicate> predicados = new ArrayList<>();
+            if (filtros.getTitulo() != null && !filtros.getTitulo().isBlank()) {
+                if (idsBusca == null) {
+                    predicados.add(cb.like(cb.lower(root.get("titulo")), "%" + filtros.getTitulo().toLowerCase() + "%"));
+                } else if (idsBusca.isEmpty()) {
+                    predicados.add(cb.disjunction());
+                } else {
+                    predicados.add(root.get("id").in(idsBusca));
+                }
+            }
+            if (filtros.getStatus() != null) {
+                predicados.add(cb.equal(root.get("status"), filtros.getStatus()));
+            }
+            if (filtros.getCategoriaId() != null) {
+                predicados.add(cb.equal(root.get("categoriaId"), filtros.getCategoriaId()));
+            }
+            if (filtros.getVendedorId() != null) {
+                predicados.add(cb.equal(root.get("vendedorId"), filtros.getVendedorId()));
+            }
+            if (filtros.getDataHoraFimFrom() != null) {
+                predicados.add(cb.greaterThanOrEqualTo(root.get("dataHoraFim"), filtros.getDataHoraFimFrom()));
+            }
+            if (filtros.getDataHoraFimTo() != null) {
+                predicados.add(cb.lessThanOrEqualTo(root.get("dataHoraFim"), filtros.getDataHoraFimTo()));
+            }
+            if (filtros.getLanceMinFrom() != null) {
+                predicados.add(cb.greaterThanOrEqualTo(root.get("preco"), filtros.getLanceMinFrom()));
+            }
+            if (filtros.getLanceMinTo() != null) {
+                predicados.add(cb.lessThanOrEqualTo(root.get("preco"), filtros.getLanceMinTo()));
+            }
+            return cb.and(predicados.toArray(new Predicate[0]));
+        };
+    }
+}
@@ -4,6 +4,7 @@ import java.util.List;
 
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpMethod;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
@@ -48,12 +49,14 @@ public class ConfiguracaoSeguranca {
             .requestMatchers("/autenticacao/**").permitAll()
             .requestMatchers("/pessoa", "/pessoa/recuperar-senha", "/pessoa/redefinir-senha").permitAll()
             .requestMatchers("/uploads/**").permitAll()
-            .requestMatchers("/leiloes", "/leiloes/filtros", "/leiloes/{id}", "/leiloes/status/**",
+            .requestMatchers("/leiloes", "/leiloes/filtros", "/leiloes/cards", "/leiloes/{id}", "/leiloes/status/**",
                             "/leiloes/categoria/**", "/leiloes/buscar").permitAll()
             .requestMatchers("/categorias", "/categorias/lista", "/categorias/{id}",
                             "/categorias/buscar").permitAll()
             .requestMatchers("/feedbacks/pessoa/**").permitAll()
             .requestMatchers("/imagens/leilao/**").permitAll()
+            .requestMatchers(HttpMethod.GET, "/lances/leilao/{leilaoId}/stream").permitAll()
+            .requestMatchers("/ws/lances").permitAll()
                 .anyRequest().authenticated()
             )
             .sessionManagement(session -> session
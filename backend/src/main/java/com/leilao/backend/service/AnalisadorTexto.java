@@ -0,0 +1,100 @@
+package com.leilao.backend.service;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Análise de texto da busca de leilões: remove acentos, passa para minúsculas, quebra em
+ * palavras, descarta palavras vazias e reduz cada palavra a um radical com um stemmer
+ * leve de português (plural, feminino e vogal final). O radical é sempre calculado do
+ * mesmo jeito na indexação e na consulta, então não precisa ser uma palavra real.
+ */
+public final class AnalisadorTexto {
+
+    private static final Set<String> PALAVRAS_VAZIAS = Set.of(
+            "a", "o", "as", "os", "um", "uma", "uns", "umas", "de", "da", "do", "das", "dos",
+            "e", "ou", "em", "no", "na", "nos", "nas", "ao", "aos", "para", "pra", "por",
+            "com", "sem", "que", "se", "seu", "sua");
+
+    // Terminações femininas e o masculino correspondente, das mais longas para as mais curtas
+    private static final String[][] FEMININOS = {
+            {"eira", "eiro"}, {"inha", "inho"}, {"ona", "ao"}, {"ora", "or"}, {"osa", "oso"},
+            {"esa", "es"}, {"ica", "ico"}, {"ada", "ado"}, {"ida", "ido"}, {"iva", "ivo"},
+            {"ima", "imo"}
+    };
+
+    private AnalisadorTexto() {
+    }
+
+    public static List<String> analisar(String texto) {
+        List<String> termos = new ArrayList<>();
+        if (texto == null || texto.isBlank()) {
+            return termos;
+        }
+        for (String palavra : normalizar(texto).split("[^a-z0-9]+")) {
+            if (palavra.isEmpty() || PALAVRAS_VAZIAS.contains(palavra)) {
+                continue;
+            }
+            termos.add(radical(palavra));
+        }
+        return termos;
+    }
+
+    static String normalizar(String texto) {
+        String decomposto = Normalizer.normalize(texto, Normalizer.Form.NFD);
+        return decomposto.replaceAll("\\p{M}+", "").toLowerCase();
+    }
+
+    static String radical(String palavra) {
+        if (palavra.length() < 4 || Character.isDigit(palavra.charAt(0))) {
+            return palavra;
+        }
+        String radical = singular(palavra);
+        radical = masculino(radical);
+        char ultima = radical.charAt(radical.length() - 1);
+        if (radical.length() > 4 && (ultima == 'a' || ultima == 'e' || ultima == 'o')) {
+            radical = radical.substring(0, radical.length() - 1);
+        }
+        return radical;
+    }
+
+    private static String singular(String palavra) {
+        if (!palavra.endsWith("s") || palavra.endsWith("ss") || palavra.endsWith("us")) {
+            return palavra;
+        }
+        if (palavra.endsWith("oes") || palavra.endsWith("aes")) {
+            return trocar(palavra, 3, "ao");
+        }
+        if (palavra.endsWith("ais")) {
+            return trocar(palavra, 3, "al");
+        }
+        if (palavra.endsWith("eis")) {
+            return trocar(palavra, 3, "el");
+        }
+        if (palavra.endsWith("ois")) {
+            return trocar(palavra, 3, "ol");
+        }
+        if (palavra.endsWith("ns")) {
+            return trocar(palavra, 2, "m");
+        }
+        if (palavra.endsWith("res") || palavra.endsWith("zes")) {
+            return palavra.substring(0, palavra.length() - 2);
+        }
+        return palavra.substring(0, palavra.length() - 1);
+    }
+
+    private static String masculino(String palavra) {
+        for (String[] regra : FEMININOS) {
+            if (palavra.endsWith(regra[0]) && palavra.length() - regra[0].length() >= 3) {
+                return trocar(palavra, regra[0].length(), regra[1]);
+            }
+        }
+        return palavra;
+    }
+
+    private static String trocar(String palavra, int tamanhoSufixo, String novoSufixo) {
+        return palavra.substring(0, palavra.length() - tamanhoSufixo) + novoSufixo;
+    }
+}
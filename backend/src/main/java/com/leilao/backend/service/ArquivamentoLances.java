@@ -0,0 +1,71 @@
+package com.leilao.backend.service;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.leilao.backend.enums.StatusLeilao;
+import com.leilao.backend.model.Lance;
+import com.leilao.backend.repository.LanceRepository;
+import com.leilao.backend.repository.LeilaoRepository;
+
+/**
+ * Job que move para o arquivo colunar os lances de leilões ENCERRADO/CANCELADO com fim
+ * há mais de app.lances.arquivo.dias-apos-encerramento dias. Ordem: grava o arquivo,
+ * marca o leilão como arquivado e só então apaga os lances em lotes; se cair no meio,
+ * a próxima execução termina de apagar o que sobrou.
+ */
+@Component
+public class ArquivamentoLances {
+
+    private static final List<StatusLeilao> STATUS_ARQUIVAVEIS = List.of(StatusLeilao.ENCERRADO, StatusLeilao.CANCELADO);
+
+    @Autowired
+    private LeilaoRepository leilaoRepository;
+
+    @Autowired
+    private LanceRepository lanceRepository;
+
+    @Autowired
+    private ArquivoLances arquivoLances;
+
+    @Value("${app.lances.arquivo.habilitado:true}")
+    private boolean habilitado;
+
+    @Value("${app.lances.arquivo.dias-apos-encerramento:30}")
+    private long diasAposEncerramento;
+
+    @Value("${app.lances.arquivo.leiloes-por-execucao:50}")
+    private int leiloesPorExecucao;
+
+    @Value("${app.lances.arquivo.lote-exclusao:1000}")
+    private int loteExclusao;
+
+    @Scheduled(fixedDelayString = "${app.lances.arquivo.intervalo-ms:3600000}")
+    public void arquivar() {
+        if (!habilitado) {
+            return;
+        }
+        LocalDateTime limite = LocalDateTime.now().minusDays(diasAposEncerramento);
+        List<Long> leiloes = leilaoRepository.findIdsParaArquivar(STATUS_ARQUIVAVEIS, limite, Limit.of(leiloesPorExecucao));
+        for (Long leilaoId : leiloes) {
+            List<Lance> lances = lanceRepository.findParaArquivo(leilaoId);
+            // gravar só retorna com o arquivo sincronizado no disco; só então os lances podem sair
+            arquivoLances.gravar(leilaoId, lances);
+            leilaoRepository.marcarArquivado(leilaoId, LocalDateTime.now());
+        }
+        excluirArquivados();
+    }
+
+    private void excluirArquivados() {
+        List<Long> ids;
+        while (!(ids = lanceRepository.findIdsArquivados(Limit.of(loteExclusao))).isEmpty()) {
+            lanceRepository.deleteByIdIn(ids);
+        }
+    }
+}
@@ -0,0 +1,167 @@
+package com.leilao.backend.service;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.leilao.backend.model.Lance;
+
+/**
+ * Arquivo colunar dos lances de leilões encerrados: um arquivo GZIP por leilão com
+ * as colunas id, valor, data/hora e comprador gravadas como vetores primitivos, na
+ * ordem do histórico (maior valor primeiro, depois maior id).
+ */
+@Component
+public class ArquivoLances {
+
+    private static final int MAGICO = 0x4C414E43;
+    private static final byte VERSAO = 1;
+    private static final int ARQUIVOS_EM_CACHE = 32;
+
+    public record Colunas(long[] ids, float[] valores, long[] datas, long[] compradores) {
+
+        public int tamanho() {
+            return ids.length;
+        }
+
+        public LocalDateTime dataHora(int i) {
+            return LocalDateTime.ofInstant(Instant.ofEpochMilli(datas[i]), ZoneId.systemDefault());
+        }
+    }
+
+    @Value("${app.lances.arquivo.dir:dados/arquivo-lances}")
+    private String diretorio;
+
+    // Últimos arquivos lidos: leilões encerrados populares são consultados em sequência
+    private final Map<Long, Colunas> cache = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Long, Colunas> eldest) {
+            return size() > ARQUIVOS_EM_CACHE;
+        }
+    };
+
+    public void gravar(Long leilaoId, List<Lance> lances) {
+        int tamanho = lances.size();
+        long[] ids = new long[tamanho];
+        float[] valores = new float[tamanho];
+        long[] datas = new long[tamanho];
+        long[] compradores = new long[tamanho];
+        for (int i = 0; i < tamanho; i++) {
+            Lance lance = lances.get(i);
+            ids[i] = lance.getId();
+            valores[i] = lance.getValorLance();
+            datas[i] = lance.getDataHora().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+            compradores[i] = lance.getComprador() != null ? lance.getComprador().getId() : 0L;
+        }
+
+        Path destino = caminho(leilaoId);
+        Path temporario = destino.resolveSibling(destino.getFileName() + ".tmp");
+        try {
+            Files.createDirectories(destino.getParent());
+            try (DataOutputStream saida = new DataOutputStream(new BufferedOutputStream(
+                    new GZIPOutputStream(Files.newOutputStream(temporario))))) {
+                saida.writeInt(MAGICO);
+                saida.writeByte(VERSAO);
+                saida.writeInt(tamanho);
+                // Uma coluna por vez: valores parecidos ficam juntos e comprimem melhor
+                for (long id : ids) {
+                    saida.writeLong(id);
+                }
+                for (float valor : valores) {
+                    saida.writeFloat(valor);
+                }
+                for (long data : datas) {
+                    saida.writeLong(data);
+                }
+                for (long comprador : compradores) {
+                    saida.writeLong(comprador);
+                }
+            }
+            // Os lances saem da tabela logo depois: o arquivo e a troca de nome precisam
+            // estar no disco antes, ou uma queda deixa o arquivo vazio ou pela metade
+            sincronizar(temporario, StandardOpenOption.WRITE);
+            Files.move(temporario, destino, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            sincronizar(destino.getParent(), StandardOpenOption.READ);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Erro ao gravar arquivo de lances do leilão " + leilaoId, e);
+        }
+        synchronized (cache) {
+            cache.remove(leilaoId);
+        }
+    }
+
+    private static void sincronizar(Path caminho, StandardOpenOption modo) throws IOException {
+        try (FileChannel canal = FileChannel.open(caminho, modo)) {
+            canal.force(true);
+        }
+    }
+
+    public Optional<Colunas> ler(Long leilaoId) {
+        synchronized (cache) {
+            Colunas colunas = cache.get(leilaoId);
+            if (colunas != null) {
+                return Optional.of(colunas);
+            }
+        }
+        Path arquivo = caminho(leilaoId);
+        if (!Files.exists(arquivo)) {
+            return Optional.empty();
+        }
+        Colunas colunas;
+        try (DataInputStream entrada = new DataInputStream(new BufferedInputStream(
+                new GZIPInputStream(Files.newInputStream(arquivo))))) {
+            if (entrada.readInt() != MAGICO || entrada.readByte() != VERSAO) {
+                throw new IOException("Formato desconhecido");
+            }
+            int tamanho = entrada.readInt();
+            long[] ids = new long[tamanho];
+            float[] valores = new float[tamanho];
+            long[] datas = new long[tamanho];
+            long[] compradores = new long[tamanho];
+            for (int i = 0; i < tamanho; i++) {
+                ids[i] = entrada.readLong();
+            }
+            for (int i = 0; i < tamanho; i++) {
+                valores[i] = entrada.readFloat();
+            }
+            for (int i = 0; i < tamanho; i++) {
+                datas[i] = entrada.readLong();
+            }
+            for (int i = 0; i < tamanho; i++) {
+                compradores[i] = entrada.readLong();
+            }
+            colunas = new Colunas(ids, valores, datas, compradores);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Erro ao ler arquivo de lances do leilão " + leilaoId, e);
+        }
+        synchronized (cache) {
+            cache.put(leilaoId, colunas);
+        }
+        return Optional.of(colunas);
+    }
+
+    private Path caminho(Long leilaoId) {
+        return Paths.get(diretorio, "leilao-" + leilaoId + ".lances.gz");
+    }
+}
@@ -0,0 +1,7 @@
+package com.leilao.backend.service;
+
+/**
+ * Publicado quando um feedback recebido pela pessoa é criado, alterado ou excluído.
+ */
+public record AvaliacaoVendedorAlteradaEvento(Long vendedorId) {
+}
@@ -0,0 +1,157 @@
+package com.leilao.backend.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.IntPredicate;
+import java.util.function.LongSupplier;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.leilao.backend.dto.PaginaDTO;
+import com.leilao.backend.repository.LeitorProjecao;
+
+/**
+ * Totais das listagens paginadas, guardados por entidade e filtro normalizado por
+ * app.paginacao.contagem.ttl-ms e descartados a cada escrita na entidade. Acima de
+ * app.paginacao.contagem.limite-exato linhas o COUNT não é feito: o total volta como
+ * estimativa (o próprio limite, um piso) marcada em PaginaDTO.totalEstimated.
+ */
+@Component
+public class CacheContagens {
+
+    private record Contagem(long total, boolean estimada, long expiraEm, long geracao) {
+    }
+
+    private static final class Entidade {
+        // Incrementada a cada escrita: contagens iniciadas antes dela não valem mais
+        private final AtomicLong geracao = new AtomicLong();
+        private final Map<Object, Contagem> contagens = new ConcurrentHashMap<>();
+    }
+
+    @Value("${app.paginacao.contagem.ttl-ms:30000}")
+    private long ttlMs;
+
+    @Value("${app.paginacao.contagem.limite-exato:10000}")
+    private int limiteExato;
+
+    @Value("${app.paginacao.contagem.maximo-entradas:1000}")
+    private int maximoEntradas;
+
+    private final Map<Class<?>, Entidade> entidades = new ConcurrentHashMap<>();
+
+    /**
+     * Chave de cache a partir dos campos do filtro: textos sem espaços nas pontas, em
+     * minúsculas, e vazios tratados como ausentes.
+     */
+    public static Object chave(Object... campos) {
+        List<Object> chave = new ArrayList<>(campos.length);
+        for (Object campo : campos) {
+            if (campo instanceof String texto) {
+                texto = texto.trim().toLowerCase();
+                chave.add(texto.isEmpty() ? null : texto);
+            } else {
+                chave.add(campo);
+            }
+        }
+        return chave;
+    }
+
+    /**
+     * Descarta as contagens da entidade. Dentro de transação descarta de novo depois do
+     * commit: um COUNT feito entre a escrita e o commit ainda não a enxerga e não pode
+     * ficar guardado.
+     */
+    public void invalidar(Class<?> tipo) {
+        Entidade entidade = entidades.computeIfAbsent(tipo, t -> new Entidade());
+        descartar(entidade);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    descartar(entidade);
+                }
+            });
+        }
+    }
+
+    private static void descartar(Entidade entidade) {
+        entidade.geracao.incrementAndGet();
+        entidade.contagens.clear();
+    }
+
+    public <T, R> PaginaDTO<R> listar(JpaSpecificationExecutor<T> repositorio, Specification<T> filtro, Class<T> tipo,
+                                      Object chave, Pageable pageable, Function<T, R> conversor) {
+        Pageable semOrdem = PageRequest.of(pageable.getPageNumber(), pageable.getPageSize());
+        Slice<T> fatia = repositorio.findBy(filtro, consulta -> consulta.sortBy(pageable.getSort()).slice(semOrdem));
+        return paginar(fatia.map(conversor), pageable, tipo, chave,
+                // Procura uma linha depois da posição do limite em vez de contar todas
+                posicao -> repositorio.findBy(filtro, consulta -> consulta.slice(PageRequest.of(posicao, 1))).hasContent(),
+                () -> repositorio.count(filtro));
+    }
+
+    /**
+     * Mesma paginação, lendo a página e a sondagem do limite como DTOs projetados.
+     */
+    public <T, R> PaginaDTO<R> listar(LeitorProjecao<T, R> leitor, JpaSpecificationExecutor<T> repositorio,
+                                      Specification<T> filtro, Class<T> tipo, Object chave, Pageable pageable) {
+        List<R> itens = leitor.ler(filtro, pageable.getSort(), pageable.getOffset(), pageable.getPageSize() + 1);
+        boolean haMais = itens.size() > pageable.getPageSize();
+        Slice<R> fatia = new SliceImpl<>(haMais ? itens.subList(0, pageable.getPageSize()) : itens,
+                PageRequest.of(pageable.getPageNumber(), pageable.getPageSize()), haMais);
+        return paginar(fatia, pageable, tipo, chave,
+                posicao -> !leitor.ler(filtro, Sort.unsorted(), posicao, 1).isEmpty(),
+                () -> repositorio.count(filtro));
+    }
+
+    private <R> PaginaDTO<R> paginar(Slice<R> fatia, Pageable pageable, Class<?> tipo, Object chave,
+                                     IntPredicate temLinhaNaPosicao, LongSupplier contarTodas) {
+        // Na última página o total sai do deslocamento, sem COUNT
+        if (!fatia.hasNext() && (fatia.hasContent() || pageable.getPageNumber() == 0)) {
+            return new PaginaDTO<>(fatia, pageable.getOffset() + fatia.getNumberOfElements(), false);
+        }
+        Contagem contagem = contar(tipo, chave, temLinhaNaPosicao, contarTodas);
+        long total = contagem.total();
+        if (contagem.estimada() && fatia.hasNext()) {
+            // Além do limite o piso acompanha a página pedida: há ao menos a linha seguinte a ela
+            total = Math.max(total, pageable.getOffset() + fatia.getNumberOfElements() + 1);
+        }
+        return new PaginaDTO<>(fatia, total, contagem.estimada());
+    }
+
+    private Contagem contar(Class<?> tipo, Object chave, IntPredicate temLinhaNaPosicao, LongSupplier contarTodas) {
+        Entidade entidade = entidades.computeIfAbsent(tipo, t -> new Entidade());
+        long geracao = entidade.geracao.get();
+        long agora = System.currentTimeMillis();
+        Contagem guardada = entidade.contagens.get(chave);
+        if (guardada != null && guardada.geracao() == geracao && guardada.expiraEm() > agora) {
+            return guardada;
+        }
+
+        Contagem contagem;
+        if (limiteExato > 0 && temLinhaNaPosicao.test(limiteExato)) {
+            contagem = new Contagem(limiteExato, true, agora + ttlMs, geracao);
+        } else {
+            contagem = new Contagem(contarTodas.getAsLong(), false, agora + ttlMs, geracao);
+        }
+        if (entidade.contagens.size() >= maximoEntradas) {
+            entidade.contagens.clear();
+        }
+        // Uma escrita durante o COUNT já mudou a geração e a entrada nunca será usada
+        entidade.contagens.put(chave, contagem);
+        return contagem;
+    }
+}
@@ -4,9 +4,9 @@ import java.util.List;
 import java.util.stream.Collectors;
 
 import com.leilao.backend.dto.CategoriaDTO;
+import com.leilao.backend.dto.PaginaDTO;
 import com.leilao.backend.exception.NegocioExcecao;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 
@@ -14,6 +14,7 @@ import com.leilao.backend.exception.NaoEncontradoExcecao;
 import com.leilao.backend.model.Categoria;
 import com.leilao.backend.model.Pessoa;
 import com.leilao.backend.repository.CategoriaRepository;
+import com.leilao.backend.repository.CategoriaSpecifications;
 
 @Service
 public class CategoriaService {
@@ -21,12 +22,23 @@ public class CategoriaService {
     @Autowired
     private CategoriaRepository categoriaRepository;
 
+    @Autowired
+    private IndiceBuscaLeiloes indiceBusca;
+
+    @Autowired
+    private CacheContagens cacheContagens;
+
     public List<Categoria> listarTodas() {
         return categoriaRepository.findAll();
     }
 
-    public Page<Categoria> listarTodasPaginado(Pageable pageable) {
-        return categoriaRepository.findAll(pageable);
+    public PaginaDTO<CategoriaDTO> listarPaginado(String nome, Pageable pageable) {
+        return cacheContagens.listar(categoriaRepository, CategoriaSpecifications.comNome(nome), Categoria.class,
+                CacheContagens.chave(nome), pageable, this::converterParaDTO);
+    }
+
+    public String etagLista() {
+        return Etags.forte(categoriaRepository.findVersoes().toArray());
     }
 
     public Categoria buscarPorId(Long id) {
@@ -51,7 +63,10 @@ public class CategoriaService {
         Categoria categoriaExistente = buscarPorId(id);
         categoriaExistente.setNome(dto.getNome());
         categoriaExistente.setObservacao(dto.getObservacao());
-        return categoriaRepository.save(categoriaExistente);
+        Categoria categoriaAtualizada = categoriaRepository.save(categoriaExistente);
+        // O nome da categoria faz parte do texto indexado dos leilões dela
+        indiceBusca.reindexarCategoria(id);
+        return categoriaAtualizada;
     }
 
     public void deletar(Long id) {
@@ -73,10 +88,6 @@ public class CategoriaService {
         return categoriaRepository.findByNomeContainingIgnoreCase(nome);
     }
 
-    public Page<Categoria> buscarPorNomePaginado(String nome, Pageable pageable) {
-        return categoriaRepository.findByNomeContainingIgnoreCasePage(nome, pageable);
-    }
-
     public CategoriaDTO converterParaDTO(Categoria categoria) {
         CategoriaDTO dto = new CategoriaDTO();
         dto.setId(categoria.getId());
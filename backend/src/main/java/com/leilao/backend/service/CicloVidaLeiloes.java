@@ -0,0 +1,229 @@
+package com.leilao.backend.service;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.DelayQueue;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import com.leilao.backend.enums.StatusLeilao;
+import com.leilao.backend.model.Leilao;
+import com.leilao.backend.repository.LeilaoRepository;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Abre e encerra leilões automaticamente. Aberturas (só com app.leiloes.ciclo.abertura-automatica)
+ * ficam numa DelayQueue carregada dos leilões EM_ANALISE; encerramentos chegam da roda de prazos (PrazosLeiloes), já com as
+ * prorrogações do fechamento suave. Tudo que vence junto é aplicado com UPDATE ... WHERE
+ * id IN (...) em lotes, com o status anterior na condição.
+ */
+@Component
+public class CicloVidaLeiloes {
+
+    private static final Logger log = LoggerFactory.getLogger(CicloVidaLeiloes.class);
+
+    private static final long ESPERA_MS = 500;
+
+    // Nova tentativa de abertura ou encerramento que falhou (a transação inteira foi desfeita)
+    private static final long REPETICAO_MS = 5000;
+
+    private enum Tipo { ABRIR, ENCERRAR }
+
+    private record Transicao(Long leilaoId, Tipo tipo, long instanteMillis) implements Delayed {
+
+        @Override
+        public long getDelay(TimeUnit unit) {
+            return unit.convert(instanteMillis - System.currentTimeMillis(), TimeUnit.MILLISECONDS);
+        }
+
+        @Override
+        public int compareTo(Delayed outro) {
+            return Long.compare(instanteMillis, ((Transicao) outro).instanteMillis);
+        }
+    }
+
+    @Autowired
+    private LeilaoRepository leilaoRepository;
+
+    @Autowired
+    private PrazosLeiloes prazosLeiloes;
+
+    @Autowired
+    private LivroLances livroLances;
+
+    @Autowired
+    private RankingLances rankingLances;
+
+    @Autowired
+    private PagamentoService pagamentoService;
+
+    @Autowired
+    private CacheContagens cacheContagens;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Value("${app.leiloes.ciclo.habilitado:true}")
+    private boolean habilitado;
+
+    // Desligada por padrão: EM_ANALISE ainda não passou pela moderação do administrador
+    @Value("${app.leiloes.ciclo.abertura-automatica:false}")
+    private boolean aberturaAutomatica;
+
+    @Value("${app.leiloes.ciclo.lote-maximo:1000}")
+    private int loteMaximo;
+
+    private final DelayQueue<Transicao> fila = new DelayQueue<>();
+
+    // Abertura vigente de cada leilão: reagendar deixa a anterior obsoleta na fila
+    private final ConcurrentHashMap<Long, Transicao> aberturas = new ConcurrentHashMap<>();
+
+    private Thread thread;
+
+    private volatile boolean executando;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void iniciar() {
+        if (!habilitado) {
+            return;
+        }
+        // A fila é derivada do banco a cada subida; os encerramentos vêm da roda de prazos
+        if (aberturaAutomatica) {
+            for (Leilao leilao : leilaoRepository.findByStatusOrderByDataHoraInicio(StatusLeilao.EM_ANALISE)) {
+                agendarAbertura(leilao.getId(), leilao.getDataHoraInicio());
+            }
+        }
+        executando = true;
+        thread = new Thread(this::executar, "ciclo-vida-leiloes");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    @PreDestroy
+    public void parar() {
+        executando = false;
+        if (thread != null) {
+            thread.interrupt();
+        }
+    }
+
+    public void agendarAbertura(Long leilaoId, LocalDateTime dataHoraInicio) {
+        if (!habilitado || !aberturaAutomatica) {
+            return;
+        }
+        Transicao abertura = new Transicao(leilaoId, Tipo.ABRIR,
+                dataHoraInicio.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli());
+        aberturas.put(leilaoId, abertura);
+        fila.offer(abertura);
+    }
+
+    public void cancelarAbertura(Long leilaoId) {
+        aberturas.remove(leilaoId);
+    }
+
+    @EventListener
+    public void aoVencerPrazo(PrazoLeilaoVencidoEvento evento) {
+        if (habilitado) {
+            fila.offer(new Transicao(evento.leilaoId(), Tipo.ENCERRAR, System.currentTimeMillis()));
+        }
+    }
+
+    private void executar() {
+        List<Transicao> lote = new ArrayList<>(loteMaximo);
+        while (executando) {
+            try {
+                Transicao primeira = fila.poll(ESPERA_MS, TimeUnit.MILLISECONDS);
+                if (primeira == null) {
+                    continue;
+                }
+                lote.add(primeira);
+                // drainTo só entrega transições já vencidas
+                fila.drainTo(lote, loteMaximo - 1);
+                processar(lote);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                log.error("Erro ao processar ciclo de vida de leilões", e);
+            } finally {
+                lote.clear();
+            }
+        }
+    }
+
+    private void processar(List<Transicao> lote) {
+        long agora = System.currentTimeMillis();
+        List<Long> abrir = new ArrayList<>();
+        List<Long> encerrar = new ArrayList<>();
+        for (Transicao transicao : lote) {
+            if (transicao.tipo() == Tipo.ABRIR) {
+                if (aberturas.remove(transicao.leilaoId(), transicao)) {
+                    abrir.add(transicao.leilaoId());
+                }
+            } else if (prazosLeiloes.vencido(transicao.leilaoId(), agora)) {
+                // Prorrogado depois de vencer na roda: a nova expiração trará outro evento
+                encerrar.add(transicao.leilaoId());
+            }
+        }
+
+        if (!abrir.isEmpty()) {
+            try {
+                leilaoRepository.transicionarStatus(abrir, List.of(StatusLeilao.EM_ANALISE), StatusLeilao.ABERTO);
+                // Os que de fato abriram entram na roda de prazos
+                for (Object[] linha : leilaoRepository.findPrazosAbertosPorIds(abrir)) {
+                    prazosLeiloes.agendar((Long) linha[0], (LocalDateTime) linha[1]);
+                }
+            } catch (RuntimeException e) {
+                // Já saíram de aberturas: voltam, salvo se foram reagendados no meio tempo. Um
+                // cancelado fica de fora na repetição pelo status anterior exigido no UPDATE
+                long repeticao = System.currentTimeMillis() + REPETICAO_MS;
+                for (Long leilaoId : abrir) {
+                    Transicao abertura = new Transicao(leilaoId, Tipo.ABRIR, repeticao);
+                    if (aberturas.putIfAbsent(leilaoId, abertura) == null) {
+                        fila.offer(abertura);
+                    }
+                }
+                abrir = List.of();
+                log.warn("Erro ao abrir leilões, nova tentativa agendada", e);
+            }
+        }
+        if (!encerrar.isEmpty()) {
+            try {
+                // Só os que este UPDATE tirou de ABERTO: um cancelado no meio tempo fica de fora
+                encerrar = pagamentoService.encerrarComPagamentos(encerrar);
+            } catch (RuntimeException e) {
+                long repeticao = System.currentTimeMillis() + REPETICAO_MS;
+                for (Long leilaoId : encerrar) {
+                    fila.offer(new Transicao(leilaoId, Tipo.ENCERRAR, repeticao));
+                }
+                encerrar = List.of();
+                log.warn("Erro ao encerrar leilões, nova tentativa agendada", e);
+            }
+            for (Long leilaoId : encerrar) {
+                livroLances.invalidar(leilaoId);
+                rankingLances.invalidar(leilaoId);
+                prazosLeiloes.remover(leilaoId);
+            }
+        }
+        if (!abrir.isEmpty() || !encerrar.isEmpty()) {
+            // UPDATE em lote não passa pelo ouvinte JPA das contagens
+            cacheContagens.invalidar(Leilao.class);
+            List<Long> alterados = new ArrayList<>(abrir);
+            alterados.addAll(encerrar);
+            eventPublisher.publishEvent(new ResumoLeilaoDesatualizadoEvento(alterados));
+        }
+    }
+}
@@ -0,0 +1,232 @@
+package com.leilao.backend.service;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.hibernate.Hibernate;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.leilao.backend.dto.MetricasDiarioDTO;
+import com.leilao.backend.exception.NegocioExcecao;
+import com.leilao.backend.model.Lance;
+import com.leilao.backend.model.Pessoa;
+import com.leilao.backend.repository.LanceRepository;
+import com.leilao.backend.repository.LeilaoRepository;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Diário de lances com commit em grupo: acumula os lances aceitos por até
+ * app.lances.diario.janela-ms ou app.lances.diario.lote-maximo entradas e grava
+ * todos com um único insert em lote e um único commit. Nenhum lance é confirmado
+ * ao chamador antes do commit.
+ */
+@Component
+public class DiarioLances {
+
+    private static final long ESPERA_MS = 100;
+
+    private record Entrada(Lance lance, CompletableFuture<Lance> resultado) {
+    }
+
+    @Autowired
+    private LanceRepository lanceRepository;
+
+    @Autowired
+    private LeilaoRepository leilaoRepository;
+
+    @Autowired
+    private LivroLances livroLances;
+
+    @Autowired
+    private LogEventosLances logEventosLances;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Value("${app.lances.diario.janela-ms:5}")
+    private long janelaMs;
+
+    @Value("${app.lances.diario.lote-maximo:100}")
+    private int loteMaximo;
+
+    private final LinkedBlockingQueue<Entrada> fila = new LinkedBlockingQueue<>();
+
+    private final AtomicLong totalLotes = new AtomicLong();
+    private final AtomicLong totalLances = new AtomicLong();
+    private final AtomicLong maiorLote = new AtomicLong();
+    private final AtomicLong latenciaTotalNanos = new AtomicLong();
+    private final AtomicLong latenciaMaximaNanos = new AtomicLong();
+    private final AtomicLong ultimaLatenciaNanos = new AtomicLong();
+
+    private TransactionTemplate transactionTemplate;
+
+    private Thread thread;
+
+    private volatile boolean executando;
+
+    @PostConstruct
+    public void iniciar() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        // Antes do primeiro lance: sem valorLanceAtual o UPDATE condicional só compara com o lance mínimo
+        leilaoRepository.preencherLancesAusentes();
+        executando = true;
+        thread = new Thread(this::executar, "diario-lances");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    @PreDestroy
+    public void parar() throws InterruptedException {
+        // O laço termina de gravar o que já está na fila antes de sair
+        executando = false;
+        thread.join(TimeUnit.SECONDS.toMillis(10));
+    }
+
+    public CompletableFuture<Lance> registrar(Lance lance) {
+        if (!executando) {
+            return CompletableFuture.failedFuture(new NegocioExcecao("Diário de lances encerrado"));
+        }
+        Entrada entrada = new Entrada(lance, new CompletableFuture<>());
+        fila.offer(entrada);
+        return entrada.resultado();
+    }
+
+    public MetricasDiarioDTO metricas() {
+        return new MetricasDiarioDTO(totalLotes.get(), totalLances.get(), maiorLote.get(),
+                latenciaTotalNanos.get(), latenciaMaximaNanos.get(), ultimaLatenciaNanos.get());
+    }
+
+    private void executar() {
+        List<Entrada> lote = new ArrayList<>(loteMaximo);
+        long janelaNanos = TimeUnit.MILLISECONDS.toNanos(janelaMs);
+        while (executando || !fila.isEmpty()) {
+            try {
+                Entrada primeira = fila.poll(ESPERA_MS, TimeUnit.MILLISECONDS);
+                if (primeira == null) {
+                    continue;
+                }
+                lote.add(primeira);
+
+                // Janela de commit em grupo: espera outros lances até o prazo ou o lote encher
+                long limite = System.nanoTime() + janelaNanos;
+                while (lote.size() < loteMaximo) {
+                    fila.drainTo(lote, loteMaximo - lote.size());
+                    long restante = limite - System.nanoTime();
+                    if (lote.size() >= loteMaximo || restante <= 0) {
+                        break;
+                    }
+                    Entrada proxima = fila.poll(restante, TimeUnit.NANOSECONDS);
+                    if (proxima == null) {
+                        break;
+                    }
+                    lote.add(proxima);
+                }
+                descarregar(lote);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                for (Entrada entrada : lote) {
+                    entrada.resultado().completeExceptionally(e);
+                }
+            } finally {
+                lote.clear();
+            }
+        }
+    }
+
+    private void descarregar(List<Entrada> lote) {
+        long inicio = System.nanoTime();
+        boolean[] aceitos = new boolean[lote.size()];
+        long[] sequencias = new long[lote.size()];
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                List<Lance> lancesAceitos = new ArrayList<>(lote.size());
+                Set<Long> leiloes = new LinkedHashSet<>();
+
+                // UPDATE condicional por lance, na ordem de chegada; o rejeitado não derruba o lote
+                for (int i = 0; i < lote.size(); i++) {
+                    Lance lance = lote.get(i).lance();
+                    Long leilaoId = lance.getLeilao().getId();
+                    aceitos[i] = leilaoRepository.aceitarLance(leilaoId, lance.getValorLance()) == 1;
+                    if (aceitos[i]) {
+                        lancesAceitos.add(lance);
+                        leiloes.add(leilaoId);
+                    }
+                }
+
+                if (!lancesAceitos.isEmpty()) {
+                    // Insert em lote (hibernate.jdbc.batch_size) e referência ao lance vencedor
+                    lanceRepository.saveAll(lancesAceitos);
+                    lanceRepository.flush();
+                    leilaoRepository.atualizarLanceAtual(leiloes);
+
+                    // Log antecipado: os lances aceitos ficam no disco antes do commit
+                    for (int i = 0; i < lote.size(); i++) {
+                        if (aceitos[i]) {
+                            sequencias[i] = logEventosLances.registrarAceito(lote.get(i).lance());
+                        }
+                    }
+                    logEventosLances.sincronizar();
+                }
+            });
+        } catch (RuntimeException e) {
+            for (int i = 0; i < lote.size(); i++) {
+                Entrada entrada = lote.get(i);
+                logEventosLances.registrarDesfecho(sequencias[i], entrada.lance(), false);
+                entrada.lance().setId(null);
+                entrada.resultado().completeExceptionally(e);
+            }
+            return;
+        }
+
+        registrarMetricas(lote.size(), System.nanoTime() - inicio);
+
+        for (int i = 0; i < lote.size(); i++) {
+            Entrada entrada = lote.get(i);
+            if (aceitos[i]) {
+                logEventosLances.registrarDesfecho(sequencias[i], entrada.lance(), true);
+                livroLances.registrar(entrada.lance());
+                entrada.resultado().complete(entrada.lance());
+                publicar(entrada.lance());
+            } else {
+                entrada.resultado().completeExceptionally(
+                        new NegocioExcecao("Lance superado por outro lance ou leilão não está aberto"));
+            }
+        }
+    }
+
+    private void publicar(Lance lance) {
+        Pessoa comprador = lance.getComprador();
+        // Nome só se já carregado: esta thread não tem sessão para inicializar o proxy
+        String nome = Hibernate.isInitialized(comprador) ? comprador.getNome() : null;
+        eventPublisher.publishEvent(new LanceAceitoEvento(lance.getLeilao().getId(), lance.getId(),
+                comprador.getId(), nome, lance.getValorLance(), lance.getDataHora()));
+    }
+
+    private void registrarMetricas(int tamanhoLote, long latenciaNanos) {
+        totalLotes.incrementAndGet();
+        totalLances.addAndGet(tamanhoLote);
+        maiorLote.accumulateAndGet(tamanhoLote, Math::max);
+        latenciaTotalNanos.addAndGet(latenciaNanos);
+        latenciaMaximaNanos.accumulateAndGet(latenciaNanos, Math::max);
+        ultimaLatenciaNanos.set(latenciaNanos);
+    }
+}
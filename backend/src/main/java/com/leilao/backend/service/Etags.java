@@ -0,0 +1,27 @@
+package com.leilao.backend.service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.HexFormat;
+
+/**
+ * ETag forte a partir das colunas de versão de um recurso. Quem chama passa tudo o que
+ * muda o corpo da resposta (versões, ids, nomes referenciados), nunca o corpo em si.
+ */
+public final class Etags {
+
+    private Etags() {
+    }
+
+    public static String forte(Object... partes) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            byte[] hash = digest.digest(Arrays.deepToString(partes).getBytes(StandardCharsets.UTF_8));
+            return "\"" + HexFormat.of().formatHex(hash, 0, 16) + "\"";
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
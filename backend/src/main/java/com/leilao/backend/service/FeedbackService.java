@@ -4,9 +4,12 @@ import java.time.LocalDateTime;
 import java.util.List;
 
 import com.leilao.backend.dto.FeedbackDTO;
+import com.leilao.backend.dto.PaginaDTO;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.support.PageableExecutionUtils;
 import org.springframework.stereotype.Service;
 
 import com.leilao.backend.exception.NaoEncontradoExcecao;
@@ -24,12 +27,23 @@ public class FeedbackService {
     @Autowired
     private PessoaService pessoaService;
 
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
     public List<Feedback> listarTodos() {
         return feedbackRepository.findAll();
     }
     
-    public Page<Feedback> listarTodosPaginado(Pageable pageable) {
-        return feedbackRepository.findAll(pageable);
+    public Page<FeedbackDTO> listarTodosPaginado(Pageable pageable) {
+        List<FeedbackDTO> conteudo = feedbackRepository.listarRespostas(PaginacaoCursor.todos(), pageable.getSort(),
+                pageable.getOffset(), pageable.getPageSize());
+        // Sem COUNT quando a página já mostra que é a última
+        return PageableExecutionUtils.getPage(conteudo, pageable, feedbackRepository::count);
+    }
+
+    public PaginaDTO<FeedbackDTO> listarSemContagem(Pageable pageable, String cursor) {
+        return PaginacaoCursor.listar(feedbackRepository::listarRespostas, PaginacaoCursor.todos(), Feedback.class,
+                FeedbackDTO.class, pageable, cursor);
     }
 
     public Feedback buscarPorId(Long id) {
@@ -52,7 +66,9 @@ public class FeedbackService {
         feedback.setDestinatario(destinatario);
         feedback.setDataHora(LocalDateTime.now());
 
-        return feedbackRepository.save(feedback);
+        Feedback feedbackSalvo = feedbackRepository.save(feedback);
+        eventPublisher.publishEvent(new AvaliacaoVendedorAlteradaEvento(destinatario.getId()));
+        return feedbackSalvo;
     }
     
     public Feedback atualizar(Long id, FeedbackDTO dto, Pessoa autor) {
@@ -65,7 +81,9 @@ public class FeedbackService {
 
         feedbackExistente.setComentario(dto.getComentario());
         feedbackExistente.setNota(dto.getNota());
-        return feedbackRepository.save(feedbackExistente);
+        Feedback feedbackAtualizado = feedbackRepository.save(feedbackExistente);
+        eventPublisher.publishEvent(new AvaliacaoVendedorAlteradaEvento(feedbackExistente.getDestinatario().getId()));
+        return feedbackAtualizado;
     }
     
     public void deletar(Long id, Pessoa autor, boolean isAdmin) {
@@ -77,14 +95,15 @@ public class FeedbackService {
         }
 
         feedbackRepository.delete(feedback);
+        eventPublisher.publishEvent(new AvaliacaoVendedorAlteradaEvento(feedback.getDestinatario().getId()));
     }
     
-    public List<Feedback> buscarPorAutor(Pessoa autor) {
-        return feedbackRepository.findByAutor(autor);
+    public List<FeedbackDTO> buscarPorAutor(Long autorId) {
+        return feedbackRepository.listarRespostasPorAutor(autorId);
     }
     
-    public List<Feedback> buscarPorDestinatario(Pessoa destinatario) {
-        return feedbackRepository.findByDestinatario(destinatario);
+    public List<FeedbackDTO> buscarPorDestinatario(Long destinatarioId) {
+        return feedbackRepository.listarRespostasPorDestinatario(destinatarioId);
     }
     
     public Double calcularMediaNota(Pessoa destinatario) {
@@ -11,9 +11,11 @@ import java.util.UUID;
 import java.util.stream.Collectors;
 
 import com.leilao.backend.dto.ImagemDTO;
+import com.leilao.backend.dto.PaginaDTO;
 import com.leilao.backend.exception.NegocioExcecao;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
@@ -23,6 +25,7 @@ import com.leilao.backend.exception.NaoEncontradoExcecao;
 import com.leilao.backend.model.Imagem;
 import com.leilao.backend.model.Leilao;
 import com.leilao.backend.repository.ImagemRepository;
+import com.leilao.backend.repository.LeilaoRepository;
 
 @Service
 public class ImagemService {
@@ -33,6 +36,12 @@ public class ImagemService {
     @Autowired
     private LeilaoService leilaoService;
 
+    @Autowired
+    private LeilaoRepository leilaoRepository;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
     @Value("${app.upload.dir:uploads/imagens}")
     private String uploadDir;
 
@@ -47,6 +56,11 @@ public class ImagemService {
         return imagemRepository.findAll(pageable);
     }
 
+    public PaginaDTO<ImagemDTO> listarSemContagem(Pageable pageable, String cursor) {
+        return PaginacaoCursor.listar(imagemRepository, PaginacaoCursor.todos(), Imagem.class, pageable, cursor,
+                this::converterParaDTO);
+    }
+
     public Imagem buscarPorId(Long id) {
         return imagemRepository.findById(id)
                 .orElseThrow(() -> new NaoEncontradoExcecao("Imagem não encontrada"));
@@ -54,7 +68,9 @@ public class ImagemService {
 
     public Imagem salvar(Imagem imagem) {
         imagem.setDataHoraCadastro(LocalDateTime.now());
-        return imagemRepository.save(imagem);
+        Imagem imagemSalva = imagemRepository.save(imagem);
+        desatualizarResumo(imagemSalva);
+        return imagemSalva;
     }
 
     public Imagem uploadImagem(MultipartFile file, Long leilaoId) throws IOException {
@@ -97,7 +113,9 @@ public class ImagemService {
         imagem.setLeilao(leilao);
         imagem.setDataHoraCadastro(LocalDateTime.now());
 
-        return imagemRepository.save(imagem);
+        Imagem imagemSalva = imagemRepository.save(imagem);
+        desatualizarResumo(imagemSalva);
+        return imagemSalva;
     }
 
     public void deletar(Long id) {
@@ -113,6 +131,15 @@ public class ImagemService {
         }
 
         imagemRepository.delete(imagem);
+        desatualizarResumo(imagem);
+    }
+
+    public String etagPorLeilao(Long leilaoId) {
+        List<Object[]> versao = leilaoRepository.findVersaoImagens(leilaoId);
+        if (versao.isEmpty()) {
+            throw new NaoEncontradoExcecao("Leilão não encontrado");
+        }
+        return Etags.forte(leilaoId, versao.get(0));
     }
 
     public List<Imagem> buscarPorLeilao(Leilao leilao) {
@@ -130,7 +157,7 @@ public class ImagemService {
         ImagemDTO dto = new ImagemDTO();
         dto.setId(imagem.getId());
         dto.setNomeImagem(imagem.getNomeImagem());
-        dto.setUrlImagem("/uploads/imagens/" + imagem.getNomeImagem());
+        dto.setUrlImagem(urlImagem(imagem.getNomeImagem()));
         dto.setDataHoraCadastro(imagem.getDataHoraCadastro());
 
         if (imagem.getLeilao() != null) {
@@ -139,4 +166,15 @@ public class ImagemService {
 
         return dto;
     }
+
+    public static String urlImagem(String nomeImagem) {
+        return "/uploads/imagens/" + nomeImagem;
+    }
+
+    // A primeira imagem do leilão aparece no card da listagem
+    private void desatualizarResumo(Imagem imagem) {
+        if (imagem.getLeilao() != null) {
+            eventPublisher.publishEvent(new ResumoLeilaoDesatualizadoEvento(List.of(imagem.getLeilao().getId())));
+        }
+    }
 }
@@ -0,0 +1,277 @@
+package com.leilao.backend.service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.leilao.backend.model.Leilao;
+import com.leilao.backend.repository.LeilaoRepository;
+
+/**
+ * Índice invertido em memória sobre título, descrição e nome da categoria dos leilões,
+ * com ranking BM25 (campos com pesos diferentes) e prefixo na última palavra da consulta.
+ * Carregado na subida lendo o banco em fluxo e mantido a cada criação, alteração e
+ * exclusão feita pelo LeilaoService. Enquanto não está pronto, a busca volta ao LIKE.
+ */
+@Component
+public class IndiceBuscaLeiloes {
+
+    private static final Logger log = LoggerFactory.getLogger(IndiceBuscaLeiloes.class);
+
+    private static final int PESO_TITULO = 3;
+    private static final int PESO_CATEGORIA = 2;
+    private static final int PESO_DESCRICAO = 1;
+
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+
+    // Prefixos muito curtos casariam com boa parte do dicionário
+    private static final int PREFIXO_MINIMO = 2;
+    private static final int EXPANSOES_MAXIMAS = 64;
+
+    private record Documento(Map<String, Integer> frequencias, int comprimento) {
+    }
+
+    @Autowired
+    private LeilaoRepository leilaoRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final ReentrantReadWriteLock trava = new ReentrantReadWriteLock();
+
+    // Radical -> (leilão -> frequência ponderada pelos pesos dos campos)
+    private final TreeMap<String, Map<Long, Integer>> postagens = new TreeMap<>();
+    private final Map<Long, Documento> documentos = new HashMap<>();
+    private long comprimentoTotal;
+
+    // Leilões alterados durante a carga: a linha lida do banco pode estar desatualizada
+    private final Set<Long> alteradosNaCarga = ConcurrentHashMap.newKeySet();
+    private volatile boolean carregando;
+    private volatile boolean pronto;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void carregar() {
+        carregando = true;
+        long inicio = System.currentTimeMillis();
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setReadOnly(true);
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                try (Stream<Object[]> linhas = leilaoRepository.streamParaIndice()) {
+                    linhas.forEach(linha -> {
+                        Long id = (Long) linha[0];
+                        trava.writeLock().lock();
+                        try {
+                            if (!alteradosNaCarga.contains(id)) {
+                                indexarSemTrava(id, (String) linha[1], (String) linha[2], (String) linha[3]);
+                            }
+                        } finally {
+                            trava.writeLock().unlock();
+                        }
+                    });
+                }
+            });
+        } catch (RuntimeException e) {
+            // Sem índice a busca continua funcionando pelo LIKE
+            carregando = false;
+            log.error("Falha ao carregar o índice de busca de leilões", e);
+            return;
+        }
+        carregando = false;
+        alteradosNaCarga.clear();
+        pronto = true;
+        log.info("Índice de busca carregado: {} leilões, {} termos em {} ms",
+                documentos.size(), postagens.size(), System.currentTimeMillis() - inicio);
+    }
+
+    public boolean isPronto() {
+        return pronto;
+    }
+
+    public void indexar(Leilao leilao) {
+        String categoriaNome = leilao.getCategoria() != null ? leilao.getCategoria().getNome() : null;
+        trava.writeLock().lock();
+        try {
+            marcarAlterado(leilao.getId());
+            indexarSemTrava(leilao.getId(), leilao.getTitulo(), leilao.getDescricao(), categoriaNome);
+        } finally {
+            trava.writeLock().unlock();
+        }
+    }
+
+    public void remover(Long leilaoId) {
+        trava.writeLock().lock();
+        try {
+            marcarAlterado(leilaoId);
+            removerSemTrava(leilaoId);
+        } finally {
+            trava.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Reindexa os leilões de uma categoria, depois que o nome dela mudou.
+     */
+    public void reindexarCategoria(Long categoriaId) {
+        for (Object[] linha : leilaoRepository.findParaIndicePorCategoria(categoriaId)) {
+            trava.writeLock().lock();
+            try {
+                Long id = (Long) linha[0];
+                marcarAlterado(id);
+                indexarSemTrava(id, (String) linha[1], (String) linha[2], (String) linha[3]);
+            } finally {
+                trava.writeLock().unlock();
+            }
+        }
+    }
+
+    /**
+     * Ids dos leilões que contêm todas as palavras da consulta, do mais para o menos
+     * relevante. A última palavra vale como prefixo, a não ser que a consulta termine
+     * em espaço. Com limite menor ou igual a zero devolve todos.
+     */
+    public List<Long> buscar(String consulta, int limite) {
+        List<String> termos = new ArrayList<>(new LinkedHashSet<>(AnalisadorTexto.analisar(consulta)));
+        if (termos.isEmpty()) {
+            return List.of();
+        }
+        boolean ultimoPrefixo = !Character.isWhitespace(consulta.charAt(consulta.length() - 1));
+
+        Map<Long, Double> pontuacoes = null;
+        trava.readLock().lock();
+        try {
+            double mediaComprimento = documentos.isEmpty() ? 1.0 : (double) comprimentoTotal / documentos.size();
+            for (int i = 0; i < termos.size(); i++) {
+                String termo = termos.get(i);
+                boolean prefixo = ultimoPrefixo && i == termos.size() - 1 && termo.length() >= PREFIXO_MINIMO;
+                Map<Long, Double> doTermo = pontuar(termo, prefixo, mediaComprimento);
+                pontuacoes = pontuacoes == null ? doTermo : intersectar(pontuacoes, doTermo);
+                if (pontuacoes.isEmpty()) {
+                    return List.of();
+                }
+            }
+        } finally {
+            trava.readLock().unlock();
+        }
+
+        Stream<Map.Entry<Long, Double>> ordenados = pontuacoes.entrySet().stream()
+                .sorted(Map.Entry.<Long, Double>comparingByValue().reversed()
+                        .thenComparing(Map.Entry.comparingByKey(Comparator.reverseOrder())));
+        if (limite > 0) {
+            ordenados = ordenados.limit(limite);
+        }
+        return ordenados.map(Map.Entry::getKey).toList();
+    }
+
+    private Map<Long, Double> pontuar(String termo, boolean prefixo, double mediaComprimento) {
+        Map<Long, Double> resultado = new HashMap<>();
+        if (!prefixo) {
+            Map<Long, Integer> postagem = postagens.get(termo);
+            if (postagem != null) {
+                somarBm25(postagem, mediaComprimento, resultado);
+            }
+            return resultado;
+        }
+        // Cada expansão do prefixo conta como um termo; fica a melhor nota por leilão
+        SortedMap<String, Map<Long, Integer>> expansoes = postagens.subMap(termo, termo + Character.MAX_VALUE);
+        int usadas = 0;
+        for (Map<Long, Integer> postagem : expansoes.values()) {
+            if (usadas++ == EXPANSOES_MAXIMAS) {
+                break;
+            }
+            Map<Long, Double> daExpansao = new HashMap<>();
+            somarBm25(postagem, mediaComprimento, daExpansao);
+            daExpansao.forEach((id, nota) -> resultado.merge(id, nota, Math::max));
+        }
+        return resultado;
+    }
+
+    private void somarBm25(Map<Long, Integer> postagem, double mediaComprimento, Map<Long, Double> resultado) {
+        int total = documentos.size();
+        int comTermo = postagem.size();
+        double idf = Math.log(1 + (total - comTermo + 0.5) / (comTermo + 0.5));
+        for (Map.Entry<Long, Integer> entrada : postagem.entrySet()) {
+            double frequencia = entrada.getValue();
+            double comprimento = documentos.get(entrada.getKey()).comprimento();
+            double nota = idf * frequencia * (K1 + 1)
+                    / (frequencia + K1 * (1 - B + B * comprimento / mediaComprimento));
+            resultado.merge(entrada.getKey(), nota, Double::sum);
+        }
+    }
+
+    private static Map<Long, Double> intersectar(Map<Long, Double> acumulado, Map<Long, Double> doTermo) {
+        Map<Long, Double> menor = acumulado.size() <= doTermo.size() ? acumulado : doTermo;
+        Map<Long, Double> maior = menor == acumulado ? doTermo : acumulado;
+        Map<Long, Double> resultado = new HashMap<>();
+        for (Map.Entry<Long, Double> entrada : menor.entrySet()) {
+            Double outra = maior.get(entrada.getKey());
+            if (outra != null) {
+                resultado.put(entrada.getKey(), entrada.getValue() + outra);
+            }
+        }
+        return resultado;
+    }
+
+    private void marcarAlterado(Long leilaoId) {
+        if (carregando) {
+            alteradosNaCarga.add(leilaoId);
+        }
+    }
+
+    private void indexarSemTrava(Long id, String titulo, String descricao, String categoriaNome) {
+        removerSemTrava(id);
+        Map<String, Integer> frequencias = new HashMap<>();
+        contar(titulo, PESO_TITULO, frequencias);
+        contar(categoriaNome, PESO_CATEGORIA, frequencias);
+        contar(descricao, PESO_DESCRICAO, frequencias);
+        int comprimento = 0;
+        for (Map.Entry<String, Integer> entrada : frequencias.entrySet()) {
+            postagens.computeIfAbsent(entrada.getKey(), termo -> new HashMap<>()).put(id, entrada.getValue());
+            comprimento += entrada.getValue();
+        }
+        documentos.put(id, new Documento(frequencias, comprimento));
+        comprimentoTotal += comprimento;
+    }
+
+    private void removerSemTrava(Long id) {
+        Documento documento = documentos.remove(id);
+        if (documento == null) {
+            return;
+        }
+        for (String termo : documento.frequencias().keySet()) {
+            Map<Long, Integer> postagem = postagens.get(termo);
+            if (postagem != null) {
+                postagem.remove(id);
+                if (postagem.isEmpty()) {
+                    postagens.remove(termo);
+                }
+            }
+        }
+        comprimentoTotal -= documento.comprimento();
+    }
+
+    private static void contar(String texto, int peso, Map<String, Integer> frequencias) {
+        for (String termo : AnalisadorTexto.analisar(texto)) {
+            frequencias.merge(termo, peso, Integer::sum);
+        }
+    }
+}
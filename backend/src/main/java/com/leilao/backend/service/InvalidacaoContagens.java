@@ -0,0 +1,29 @@
+package com.leilao.backend.service;
+
+import org.hibernate.Hibernate;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+
+/**
+ * Ouvinte JPA das entidades listadas com total: qualquer inclusão, alteração ou
+ * exclusão descarta as contagens guardadas da entidade, de novo depois do commit (os
+ * eventos JPA disparam no flush, antes dele). UPDATEs em lote não passam por aqui e
+ * chamam CacheContagens.invalidar diretamente.
+ */
+@Component
+public class InvalidacaoContagens {
+
+    @Autowired
+    private CacheContagens cacheContagens;
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void aoAlterar(Object entidade) {
+        cacheContagens.invalidar(Hibernate.getClass(entidade));
+    }
+}
@@ -0,0 +1,10 @@
+package com.leilao.backend.service;
+
+import java.time.LocalDateTime;
+
+/**
+ * Publicado pelo diário depois do commit de cada lance aceito.
+ */
+public record LanceAceitoEvento(Long leilaoId, Long lanceId, Long compradorId, String nomeComprador,
+                                Float valorLance, LocalDateTime dataHora) {
+}
@@ -0,0 +1,161 @@
+package com.leilao.backend.service;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Service;
+
+import com.leilao.backend.dto.LanceAutomaticoDTO;
+import com.leilao.backend.exception.NaoEncontradoExcecao;
+import com.leilao.backend.exception.NegocioExcecao;
+import com.leilao.backend.model.Lance;
+import com.leilao.backend.model.LanceAutomatico;
+import com.leilao.backend.model.Leilao;
+import com.leilao.backend.model.Pessoa;
+import com.leilao.backend.repository.LanceAutomaticoRepository;
+
+import jakarta.annotation.PostConstruct;
+
+/**
+ * Lances automáticos (proxy): o comprador registra um valor máximo oculto e o motor
+ * cobre os concorrentes pelo valor do incremento, até esse limite.
+ */
+@Service
+public class LanceAutomaticoService {
+
+    private static final int QUANTIDADE_TRAVAS = 64;
+
+    @Autowired
+    private LanceAutomaticoRepository lanceAutomaticoRepository;
+
+    @Autowired
+    private LanceService lanceService;
+
+    @Autowired
+    private LeilaoService leilaoService;
+
+    @Autowired
+    private LivroLances livroLances;
+
+    // Leilões com ao menos um lance automático ativo: evita consultas nos demais
+    private final Set<Long> leiloesComAutomaticos = ConcurrentHashMap.newKeySet();
+
+    private final Object[] travas = new Object[QUANTIDADE_TRAVAS];
+
+    @PostConstruct
+    public void iniciar() {
+        for (int i = 0; i < QUANTIDADE_TRAVAS; i++) {
+            travas[i] = new Object();
+        }
+        leiloesComAutomaticos.addAll(lanceAutomaticoRepository.findLeiloesComAtivos());
+    }
+
+    public LanceAutomatico registrar(LanceAutomaticoDTO dto, Pessoa comprador) {
+        Leilao leilao = leilaoService.buscarPorId(dto.getLeilaoId());
+
+        // Mesmas regras de um lance comum: aberto, no período, não é o vendedor e cobre o mínimo
+        Lance simulacao = new Lance();
+        simulacao.setLeilao(leilao);
+        simulacao.setComprador(comprador);
+        simulacao.setValorLance(dto.getValorMaximo());
+        lanceService.validarLance(simulacao, lanceService.valorMinimo(leilao));
+
+        LanceAutomatico automatico = lanceAutomaticoRepository
+                .findByLeilaoAndCompradorAndAtivoTrue(leilao, comprador)
+                .orElseGet(LanceAutomatico::new);
+        automatico.setLeilao(leilao);
+        automatico.setComprador(comprador);
+        automatico.setValorMaximo(dto.getValorMaximo());
+        automatico.setDataHora(LocalDateTime.now());
+        automatico.setAtivo(true);
+        LanceAutomatico salvo = lanceAutomaticoRepository.save(automatico);
+
+        leiloesComAutomaticos.add(leilao.getId());
+        resolverSemFalhar(leilao);
+        return salvo;
+    }
+
+    public void cancelar(Long leilaoId, Pessoa comprador) {
+        Leilao leilao = leilaoService.buscarPorId(leilaoId);
+        LanceAutomatico automatico = lanceAutomaticoRepository
+                .findByLeilaoAndCompradorAndAtivoTrue(leilao, comprador)
+                .orElseThrow(() -> new NaoEncontradoExcecao("Lance automático não encontrado"));
+        automatico.setAtivo(false);
+        lanceAutomaticoRepository.save(automatico);
+    }
+
+    @Async
+    @EventListener
+    public void aoAceitarLance(LanceAceitoEvento evento) {
+        if (!leiloesComAutomaticos.contains(evento.leilaoId())) {
+            return;
+        }
+        try {
+            resolverSemFalhar(leilaoService.buscarPorId(evento.leilaoId()));
+        } catch (NaoEncontradoExcecao e) {
+            leiloesComAutomaticos.remove(evento.leilaoId());
+        }
+    }
+
+    public LanceAutomaticoDTO converterParaDTO(LanceAutomatico automatico) {
+        LanceAutomaticoDTO dto = new LanceAutomaticoDTO();
+        dto.setId(automatico.getId());
+        dto.setLeilaoId(automatico.getLeilao().getId());
+        dto.setValorMaximo(automatico.getValorMaximo());
+        dto.setAtivo(automatico.getAtivo());
+        dto.setDataHora(automatico.getDataHora());
+        return dto;
+    }
+
+    private void resolverSemFalhar(Leilao leilao) {
+        try {
+            resolver(leilao);
+        } catch (NegocioExcecao e) {
+            // Lance concorrente venceu ou leilão fechou: o próximo lance aceito dispara nova resolução
+        }
+    }
+
+    private void resolver(Leilao leilao) {
+        synchronized (travas[Math.floorMod(leilao.getId().hashCode(), QUANTIDADE_TRAVAS)]) {
+            float valorMinimo = lanceService.valorMinimo(leilao);
+            lanceAutomaticoRepository.desativarEsgotados(leilao.getId(), valorMinimo);
+
+            List<LanceAutomatico> ativos = lanceAutomaticoRepository.findAtivosPorLeilao(leilao.getId());
+            if (ativos.isEmpty()) {
+                leiloesComAutomaticos.remove(leilao.getId());
+                return;
+            }
+
+            // Disputa resolvida em um passo: o maior máximo vence pelo segundo máximo + incremento
+            LanceAutomatico lider = ativos.get(0);
+            LanceAutomatico segundo = ativos.size() > 1 ? ativos.get(1) : null;
+            Long compradorAtual = livroLances.obter(leilao).compradorId();
+            boolean liderNaFrente = lider.getComprador().getId().equals(compradorAtual);
+
+            float valor;
+            if (liderNaFrente) {
+                if (segundo == null || segundo.getValorMaximo() < valorMinimo) {
+                    return;
+                }
+                valor = Math.min(lider.getValorMaximo(), segundo.getValorMaximo() + leilao.getValorIncremento());
+            } else {
+                float disputa = segundo != null ? segundo.getValorMaximo() + leilao.getValorIncremento() : valorMinimo;
+                valor = Math.min(lider.getValorMaximo(), Math.max(valorMinimo, disputa));
+            }
+            if (valor < valorMinimo) {
+                return;
+            }
+
+            Lance lance = new Lance();
+            lance.setLeilao(leilao);
+            lance.setComprador(lider.getComprador());
+            lance.setValorLance(valor);
+            lanceService.salvar(lance);
+        }
+    }
+}
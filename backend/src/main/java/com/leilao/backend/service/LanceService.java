@@ -1,12 +1,26 @@
 package com.leilao.backend.service;
 
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 
+import com.leilao.backend.dto.CursorLancesDTO;
+import com.leilao.backend.dto.LanceHistoricoDTO;
+import com.leilao.backend.dto.LanceResumoDTO;
 import com.leilao.backend.enums.StatusLeilao;
 import com.leilao.backend.exception.NaoEncontradoExcecao;
 import com.leilao.backend.exception.NegocioExcecao;
@@ -14,18 +28,46 @@ import com.leilao.backend.model.Lance;
 import com.leilao.backend.model.Leilao;
 import com.leilao.backend.model.Pessoa;
 import com.leilao.backend.repository.LanceRepository;
+import com.leilao.backend.repository.LeilaoRepository;
+import com.leilao.backend.repository.PessoaRepository;
 
 @Service
 public class LanceService {
+
+    private static final int TAMANHO_MAXIMO_HISTORICO = 100;
     
     @Autowired
     private LanceRepository lanceRepository;
+
+    @Autowired
+    private LeilaoRepository leilaoRepository;
     
     @Autowired
     private LeilaoService leilaoService;
+
+    @Autowired
+    private LivroLances livroLances;
+
+    @Autowired
+    private DiarioLances diarioLances;
+
+    @Autowired
+    private ArquivoLances arquivoLances;
+
+    @Autowired
+    private PessoaRepository pessoaRepository;
+
+    @Autowired
+    private RankingLances rankingLances;
+
+    @Autowired
+    private PrazosLeiloes prazosLeiloes;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
     
-    public List<Lance> listarTodos() {
-        return lanceRepository.findAll();
+    public List<LanceResumoDTO> listarTodos() {
+        return lanceRepository.listarResumos();
     }
     
     public Lance buscarPorId(Long id) {
@@ -34,33 +76,123 @@ public class LanceService {
     }
     
     public Lance salvar(Lance lance) {
-        validarLance(lance);
+        validarLance(lance, valorMinimo(lance.getLeilao()));
         lance.setDataHora(LocalDateTime.now());
-        return lanceRepository.save(lance);
+        return aguardar(registrarNoDiario(lance));
+    }
+    
+    public CompletableFuture<Lance> registrarNoDiario(Lance lance) {
+        // Gravação em grupo: o futuro só completa depois do commit do lote
+        return diarioLances.registrar(lance);
     }
     
     public void deletar(Long id) {
         Lance lance = buscarPorId(id);
         lanceRepository.delete(lance);
+        // O UPDATE condicional compara com valorLanceAtual: precisa voltar ao maior lance restante
+        leilaoRepository.recalcularLances(lance.getLeilao().getId());
+        livroLances.invalidar(lance.getLeilao().getId());
+        // O ranking só acompanha lances aceitos: é recarregado sem o excluído
+        rankingLances.invalidar(lance.getLeilao().getId());
+        eventPublisher.publishEvent(new ResumoLeilaoDesatualizadoEvento(List.of(lance.getLeilao().getId())));
     }
     
-    public List<Lance> buscarPorComprador(Pessoa comprador) {
-        return lanceRepository.findByComprador(comprador);
+    public List<LanceResumoDTO> buscarPorComprador(Pessoa comprador) {
+        return lanceRepository.listarResumosPorComprador(comprador.getId());
     }
     
     public List<Lance> buscarPorLeilao(Leilao leilao) {
+        if (leilao.getDataArquivamento() != null) {
+            return buscarNoArquivo(leilao, Integer.MAX_VALUE);
+        }
         return lanceRepository.findByLeilao(leilao);
     }
     
-    public List<Lance> buscarPorLeilaoOrdenado(Leilao leilao) {
-        return lanceRepository.findByLeilaoOrderByValorLanceDesc(leilao);
+    public List<LanceResumoDTO> buscarPorLeilaoOrdenado(Leilao leilao) {
+        if (leilao.getDataArquivamento() != null) {
+            return buscarNoArquivo(leilao, Integer.MAX_VALUE).stream()
+                    .map(lance -> new LanceResumoDTO(lance.getId(), lance.getValorLance(), lance.getDataHora()))
+                    .toList();
+        }
+        return lanceRepository.listarResumosPorLeilao(leilao.getId());
+    }
+    
+    public CursorLancesDTO buscarHistorico(Long leilaoId, String cursor, int tamanho, Long desde) {
+        int limite = Math.min(Math.max(tamanho, 1), TAMANHO_MAXIMO_HISTORICO);
+        long aposId = desde != null ? desde : 0L;
+
+        // Busca um a mais para saber se existe próxima página sem contar
+        List<LanceHistoricoDTO> lances;
+        // Só leilões arquivados passam pelo cache do arquivo (trava e acesso ao disco)
+        Optional<ArquivoLances.Colunas> arquivo = leilaoRepository.findDataArquivamento(leilaoId).isPresent()
+                ? arquivoLances.ler(leilaoId)
+                : Optional.empty();
+        if (arquivo.isPresent()) {
+            String[] partes = cursor == null || cursor.isBlank() ? null : decodificarCursor(cursor);
+            lances = buscarHistoricoNoArquivo(arquivo.get(), partes, aposId, limite + 1);
+        } else if (cursor == null || cursor.isBlank()) {
+            lances = lanceRepository.findHistorico(leilaoId, aposId, Limit.of(limite + 1));
+        } else {
+            String[] partes = decodificarCursor(cursor);
+            lances = lanceRepository.findHistoricoApos(leilaoId, aposId,
+                    Float.valueOf(partes[0]), Long.valueOf(partes[1]), Limit.of(limite + 1));
+        }
+
+        boolean temMais = lances.size() > limite;
+        if (temMais) {
+            lances = lances.subList(0, limite);
+        }
+        String proximoCursor = null;
+        if (temMais) {
+            LanceHistoricoDTO ultimo = lances.get(lances.size() - 1);
+            proximoCursor = codificarCursor(ultimo.getValorLance(), ultimo.getId());
+        }
+        return new CursorLancesDTO(lances, proximoCursor, temMais);
     }
     
+    public List<LanceHistoricoDTO> buscarTopo(Long leilaoId, int n) {
+        int limite = Math.min(Math.max(n, 1), rankingLances.getTamanho());
+        Optional<List<LanceHistoricoDTO>> topo = rankingLances.consultar(leilaoId, limite);
+        if (topo.isPresent()) {
+            return topo.get();
+        }
+        // Ranking em memória apenas para leilões abertos; os demais vêm do histórico
+        Leilao leilao = leilaoService.buscarPorId(leilaoId);
+        if (leilao.getStatus() == StatusLeilao.ABERTO) {
+            return rankingLances.carregar(leilaoId, limite);
+        }
+        return buscarHistorico(leilaoId, null, limite, null).getConteudo();
+    }
+    
+    /**
+     * ETag do maior lance pela sequência (maior id) dos lances do leilão; vazio quando
+     * ainda não há lance.
+     */
+    public Optional<String> etagMaiorLance(Long leilaoId) {
+        List<Object[]> versao = leilaoRepository.findVersaoLances(leilaoId);
+        if (versao.isEmpty()) {
+            throw new NaoEncontradoExcecao("Leilão não encontrado");
+        }
+        Object[] linha = versao.get(0);
+        if (linha[0] == null && linha[1] == null) {
+            return Optional.empty();
+        }
+        return Optional.of(Etags.forte(leilaoId, linha));
+    }
+
     public Optional<Lance> buscarMaiorLance(Leilao leilao) {
+        if (leilao.getDataArquivamento() != null) {
+            return buscarNoArquivo(leilao, 1).stream().findFirst();
+        }
         return lanceRepository.findMaiorLanceByLeilao(leilao);
     }
     
-    private void validarLance(Lance lance) {
+    public float valorMinimo(Leilao leilao) {
+        // Livro em memória, com fallback ao banco quando frio
+        return livroLances.valorMinimo(leilao);
+    }
+    
+    public void validarLance(Lance lance, float valorMinimo) {
         Leilao leilao = lance.getLeilao();
         
         // Verificar se o leilão está aberto
@@ -68,25 +200,103 @@ public class LanceService {
             throw new NegocioExcecao("Leilão não está aberto para lances");
         }
         
-        // Verificar se está dentro do período do leilão
+        // Verificar se está dentro do período do leilão (fim em memória, já com prorrogações)
         LocalDateTime agora = LocalDateTime.now();
-        if (agora.isBefore(leilao.getDataHoraInicio()) || agora.isAfter(leilao.getDataHoraFim())) {
+        if (agora.isBefore(leilao.getDataHoraInicio()) || agora.isAfter(prazosLeiloes.fim(leilao))) {
             throw new NegocioExcecao("Lance fora do período do leilão");
         }
         
-        // Verificar se o comprador não é o vendedor
-        if (lance.getComprador().equals(leilao.getVendedor())) {
+        // Verificar se o comprador não é o vendedor (por id, sem inicializar proxies)
+        if (leilao.getVendedor() != null && lance.getComprador().getId().equals(leilao.getVendedor().getId())) {
             throw new NegocioExcecao("Vendedor não pode dar lance no próprio leilão");
         }
         
         // Verificar valor mínimo
-        Optional<Lance> maiorLance = buscarMaiorLance(leilao);
-        float valorMinimo = maiorLance.isPresent() 
-            ? maiorLance.get().getValorLance() + leilao.getValorIncremento()
-            : leilao.getLanceMinimo();
-            
         if (lance.getValorLance() < valorMinimo) {
             throw new NegocioExcecao("Lance deve ser no mínimo " + valorMinimo);
         }
     }
+
+    private Lance aguardar(CompletableFuture<Lance> futuro) {
+        try {
+            return futuro.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException causa) {
+                throw causa;
+            }
+            throw e;
+        }
+    }
+
+    private List<Lance> buscarNoArquivo(Leilao leilao, int limite) {
+        Optional<ArquivoLances.Colunas> arquivo = arquivoLances.ler(leilao.getId());
+        if (arquivo.isEmpty()) {
+            return List.of();
+        }
+        ArquivoLances.Colunas colunas = arquivo.get();
+        int tamanho = Math.min(colunas.tamanho(), limite);
+        List<Lance> lances = new ArrayList<>(tamanho);
+        for (int i = 0; i < tamanho; i++) {
+            Pessoa comprador = new Pessoa();
+            comprador.setId(colunas.compradores()[i]);
+            Lance lance = new Lance();
+            lance.setId(colunas.ids()[i]);
+            lance.setValorLance(colunas.valores()[i]);
+            lance.setDataHora(colunas.dataHora(i));
+            lance.setComprador(comprador);
+            lance.setLeilao(leilao);
+            lances.add(lance);
+        }
+        return lances;
+    }
+
+    private List<LanceHistoricoDTO> buscarHistoricoNoArquivo(ArquivoLances.Colunas colunas, String[] cursor,
+                                                             long aposId, int limite) {
+        // O arquivo já está na ordem do histórico: basta avançar até depois do cursor
+        float valorCursor = cursor != null ? Float.parseFloat(cursor[0]) : Float.MAX_VALUE;
+        long idCursor = cursor != null ? Long.parseLong(cursor[1]) : Long.MAX_VALUE;
+        List<Integer> posicoes = new ArrayList<>(limite);
+        Set<Long> compradores = new HashSet<>();
+        for (int i = 0; i < colunas.tamanho() && posicoes.size() < limite; i++) {
+            float valor = colunas.valores()[i];
+            long id = colunas.ids()[i];
+            boolean aposCursor = cursor == null || valor < valorCursor || (valor == valorCursor && id < idCursor);
+            if (aposCursor && id > aposId) {
+                posicoes.add(i);
+                compradores.add(colunas.compradores()[i]);
+            }
+        }
+
+        Map<Long, String> nomes = new HashMap<>();
+        if (!compradores.isEmpty()) {
+            for (Object[] linha : pessoaRepository.findNomesPorIds(compradores)) {
+                nomes.put((Long) linha[0], (String) linha[1]);
+            }
+        }
+        List<LanceHistoricoDTO> lances = new ArrayList<>(posicoes.size());
+        for (int i : posicoes) {
+            lances.add(new LanceHistoricoDTO(colunas.ids()[i], colunas.valores()[i], colunas.dataHora(i),
+                    nomes.get(colunas.compradores()[i])));
+        }
+        return lances;
+    }
+
+    private String codificarCursor(Float valor, Long id) {
+        String cursor = valor + ":" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(cursor.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private String[] decodificarCursor(String cursor) {
+        try {
+            String[] partes = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split(":");
+            if (partes.length != 2) {
+                throw new NegocioExcecao("Cursor inválido");
+            }
+            Float.parseFloat(partes[0]);
+            Long.parseLong(partes[1]);
+            return partes;
+        } catch (IllegalArgumentException e) {
+            throw new NegocioExcecao("Cursor inválido");
+        }
+    }
 }
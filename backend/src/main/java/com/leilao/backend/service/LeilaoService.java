@@ -1,13 +1,32 @@
 package com.leilao.backend.service;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Stream;
 
 import com.leilao.backend.dto.*;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.data.domain.Page;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
 
 import com.leilao.backend.enums.StatusLeilao;
 import com.leilao.backend.exception.NaoEncontradoExcecao;
@@ -15,7 +34,11 @@ import com.leilao.backend.exception.NegocioExcecao;
 import com.leilao.backend.model.Categoria;
 import com.leilao.backend.model.Leilao;
 import com.leilao.backend.model.Pessoa;
+import com.leilao.backend.model.ResumoLeilao;
 import com.leilao.backend.repository.LeilaoRepository;
+import com.leilao.backend.repository.LeilaoSpecifications;
+import com.leilao.backend.repository.ResumoLeilaoRepository;
+import com.leilao.backend.repository.ResumoLeilaoSpecifications;
 
 @Service
 public class LeilaoService {
@@ -23,16 +46,111 @@ public class LeilaoService {
     @Autowired
     private LeilaoRepository leilaoRepository;
 
+    @Autowired
+    private ResumoLeilaoRepository resumoLeilaoRepository;
+
     @Autowired
     private CategoriaService categoriaService;
 
-    public List<Leilao> listarTodos() {
-        return leilaoRepository.findAll();
+    @Autowired
+    private LivroLances livroLances;
+
+    @Autowired
+    private RankingLances rankingLances;
+
+    @Autowired
+    private PrazosLeiloes prazosLeiloes;
+
+    @Autowired
+    private CicloVidaLeiloes cicloVidaLeiloes;
+
+    @Autowired
+    private PagamentoService pagamentoService;
+
+    @Autowired
+    private IndiceBuscaLeiloes indiceBusca;
+
+    @Autowired
+    private CacheContagens cacheContagens;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Value("${app.leiloes.busca.max-resultados:100}")
+    private int maxResultadosBusca;
+
+    @Value("${app.leiloes.busca.max-ids-filtro:1000}")
+    private int maxIdsFiltro;
+
+    /**
+     * Escreve todos os leilões como um array JSON de LeilaoDTO enquanto lê do banco. As
+     * linhas já chegam como DTO, sem entidades no contexto de persistência: a memória não
+     * cresce com o catálogo.
+     */
+    public void escreverTodos(OutputStream saida) {
+        TransactionTemplate transacao = new TransactionTemplate(transactionManager);
+        transacao.setReadOnly(true);
+        // Sem flush a cada item: o buffer do gerador decide quando enviar
+        ObjectWriter escritor = objectMapper.writerFor(LeilaoDTO.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        transacao.executeWithoutResult(status -> {
+            try (Stream<LeilaoDTO> leiloes = leilaoRepository.streamTodos();
+                 JsonGenerator gerador = objectMapper.getFactory().createGenerator(saida)) {
+                gerador.writeStartArray();
+                Iterator<LeilaoDTO> iterador = leiloes.iterator();
+                while (iterador.hasNext()) {
+                    escritor.writeValue(gerador, iterador.next());
+                }
+                gerador.writeEndArray();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    public PaginaDTO<LeilaoResponseDTO> listarComFiltros(LeilaoFilterDTO filtros, Pageable pageable) {
+        Object chave = CacheContagens.chave(filtros.getId(), filtros.getTitulo(), filtros.getStatus(),
+                filtros.getCategoriaId(), filtros.getCategoriaNome(), filtros.getVendedorId(), filtros.getVendedorNome(),
+                filtros.getDataHoraInicioFrom(), filtros.getDataHoraInicioTo(), filtros.getDataHoraFimFrom(),
+                filtros.getDataHoraFimTo(), filtros.getLanceMinFrom(), filtros.getLanceMinTo());
+        return cacheContagens.listar(leilaoRepository::listarRespostas, leilaoRepository, especificacao(filtros),
+                Leilao.class, chave, pageable);
+    }
+
+    public PaginaDTO<LeilaoResponseDTO> listarSemContagem(LeilaoFilterDTO filtros, Pageable pageable, String cursor) {
+        return PaginacaoCursor.listar(leilaoRepository::listarRespostas, especificacao(filtros), Leilao.class,
+                LeilaoResponseDTO.class, pageable, cursor);
+    }
+
+    /**
+     * Cards da listagem lidos só de resumo_leilao, sem JOIN. A tabela é atualizada em
+     * segundo plano, então um lance ou imagem recém-gravados podem levar um instante para
+     * aparecer.
+     */
+    public PaginaDTO<ResumoLeilao> listarCards(LeilaoFilterDTO filtros, Pageable pageable, String cursor) {
+        return PaginacaoCursor.listar(resumoLeilaoRepository,
+                ResumoLeilaoSpecifications.comFiltros(filtros, idsBusca(filtros)), ResumoLeilao.class, pageable,
+                cursor, Function.identity());
     }
 
-    public Page<LeilaoResponseDTO> listarComFiltros(LeilaoFilterDTO filtros, Pageable pageable) {
-        Page<Leilao> leiloes = leilaoRepository.findWithFilters(filtros, pageable);
-        return leiloes.map(this::converterParaResponseDTO);
+    private Specification<Leilao> especificacao(LeilaoFilterDTO filtros) {
+        return LeilaoSpecifications.comFiltros(filtros, idsBusca(filtros));
+    }
+
+    // Ids do índice para o filtro de título; nulo (volta ao LIKE) quando o termo casa com
+    // mais leilões do que cabem num IN razoável
+    private List<Long> idsBusca(LeilaoFilterDTO filtros) {
+        if (filtros.getTitulo() == null || filtros.getTitulo().isBlank() || !indiceBusca.isPronto()) {
+            return null;
+        }
+        List<Long> ids = indiceBusca.buscar(filtros.getTitulo(), maxIdsFiltro + 1);
+        return ids.size() > maxIdsFiltro ? null : ids;
     }
 
     public LeilaoResponseDTO criarComDTO(LeilaoCreateDTO dto, Pessoa vendedor) {
@@ -55,6 +173,9 @@ public class LeilaoService {
         validarValores(leilao);
 
         Leilao leilaoSalvo = leilaoRepository.save(leilao);
+        reagendar(leilaoSalvo);
+        indiceBusca.indexar(leilaoSalvo);
+        desatualizarResumo(List.of(leilaoSalvo.getId()));
         return converterParaResponseDTO(leilaoSalvo);
     }
 
@@ -82,6 +203,9 @@ public class LeilaoService {
         validarValores(leilaoExistente);
 
         Leilao leilaoAtualizado = leilaoRepository.save(leilaoExistente);
+        reagendar(leilaoAtualizado);
+        indiceBusca.indexar(leilaoAtualizado);
+        desatualizarResumo(List.of(leilaoAtualizado.getId()));
         return converterParaResponseDTO(leilaoAtualizado);
     }
 
@@ -112,6 +236,17 @@ public class LeilaoService {
         return dto;
     }
 
+    /**
+     * ETag de GET /leiloes/{id} lido só das colunas de versão, antes de carregar o leilão.
+     */
+    public String etag(Long id) {
+        List<Object[]> versao = leilaoRepository.findVersaoResposta(id);
+        if (versao.isEmpty()) {
+            throw new NaoEncontradoExcecao("Leilão não encontrado");
+        }
+        return Etags.forte(id, versao.get(0));
+    }
+
     public Leilao buscarPorId(Long id) {
         return leilaoRepository.findById(id)
                 .orElseThrow(() -> new NaoEncontradoExcecao("Leilão não encontrado"));
@@ -120,7 +255,11 @@ public class LeilaoService {
     public Leilao salvar(Leilao leilao) {
         validarDatas(leilao);
         validarValores(leilao);
-        return leilaoRepository.save(leilao);
+        Leilao leilaoSalvo = leilaoRepository.save(leilao);
+        reagendar(leilaoSalvo);
+        indiceBusca.indexar(leilaoSalvo);
+        desatualizarResumo(List.of(leilaoSalvo.getId()));
+        return leilaoSalvo;
     }
     
     public Leilao atualizar(Long id, Leilao leilao) {
@@ -144,7 +283,11 @@ public class LeilaoService {
         validarDatas(leilaoExistente);
         validarValores(leilaoExistente);
         
-        return leilaoRepository.save(leilaoExistente);
+        Leilao leilaoAtualizado = leilaoRepository.save(leilaoExistente);
+        reagendar(leilaoAtualizado);
+        indiceBusca.indexar(leilaoAtualizado);
+        desatualizarResumo(List.of(leilaoAtualizado.getId()));
+        return leilaoAtualizado;
     }
     
     public void deletar(Long id) {
@@ -152,50 +295,121 @@ public class LeilaoService {
         if (leilao.getStatus() == StatusLeilao.ABERTO) {
             throw new NegocioExcecao("Não é possível deletar leilão em andamento");
         }
+        cicloVidaLeiloes.cancelarAbertura(id);
         leilaoRepository.delete(leilao);
+        indiceBusca.remover(id);
+        desatualizarResumo(List.of(id));
     }
     
-    public List<Leilao> buscarPorVendedor(Pessoa vendedor) {
-        return leilaoRepository.findByVendedor(vendedor);
+    public List<LeilaoResponseDTO> buscarPorVendedor(Pessoa vendedor) {
+        return leilaoRepository.listarRespostasPorVendedor(vendedor.getId());
     }
     
-    public List<Leilao> buscarPorCategoria(Categoria categoria) {
-        return leilaoRepository.findByCategoria(categoria);
+    public List<LeilaoResponseDTO> buscarPorCategoria(Categoria categoria) {
+        return leilaoRepository.listarRespostasPorCategoria(categoria.getId());
     }
     
-    public List<Leilao> buscarPorStatus(StatusLeilao status) {
-        return leilaoRepository.findByStatus(status);
+    public List<LeilaoResponseDTO> buscarPorStatus(StatusLeilao status) {
+        return leilaoRepository.listarRespostasPorStatus(status);
     }
     
-    public List<Leilao> buscarPorTitulo(String titulo) {
-        return leilaoRepository.findByTituloContainingIgnoreCase(titulo);
+    public List<LeilaoResponseDTO> buscarPorTitulo(String titulo) {
+        if (!indiceBusca.isPronto()) {
+            return leilaoRepository.listarRespostasPorTitulo(titulo);
+        }
+        // O IN não preserva a ordem: reordena pela relevância devolvida pelo índice
+        List<Long> ids = indiceBusca.buscar(titulo, maxResultadosBusca);
+        Map<Long, LeilaoResponseDTO> porId = new HashMap<>();
+        for (LeilaoResponseDTO leilao : leilaoRepository.listarRespostasPorIds(ids)) {
+            porId.put(leilao.getId(), leilao);
+        }
+        return ids.stream().map(porId::get).filter(Objects::nonNull).toList();
     }
     
     public Leilao abrirLeilao(Long id) {
-        Leilao leilao = buscarPorId(id);
-        if (leilao.getStatus() != StatusLeilao.EM_ANALISE) {
-            throw new NegocioExcecao("Apenas leilões em análise podem ser abertos");
+        if (abrirLeiloes(List.of(id)) == 0) {
+            throw falhaTransicao(id, "Apenas leilões em análise podem ser abertos");
         }
-        leilao.setStatus(StatusLeilao.ABERTO);
-        return leilaoRepository.save(leilao);
+        return buscarPorId(id);
     }
     
     public Leilao encerrarLeilao(Long id) {
-        Leilao leilao = buscarPorId(id);
-        if (leilao.getStatus() != StatusLeilao.ABERTO) {
-            throw new NegocioExcecao("Apenas leilões abertos podem ser encerrados");
+        if (encerrarLeiloes(List.of(id)) == 0) {
+            throw falhaTransicao(id, "Apenas leilões abertos podem ser encerrados");
         }
-        leilao.setStatus(StatusLeilao.ENCERRADO);
-        return leilaoRepository.save(leilao);
+        return buscarPorId(id);
     }
     
     public Leilao cancelarLeilao(Long id) {
-        Leilao leilao = buscarPorId(id);
-        if (leilao.getStatus() == StatusLeilao.ENCERRADO) {
-            throw new NegocioExcecao("Não é possível cancelar leilão já encerrado");
+        if (cancelarLeiloes(List.of(id)) == 0) {
+            throw falhaTransicao(id, "Não é possível cancelar leilão já encerrado ou cancelado");
+        }
+        return buscarPorId(id);
+    }
+
+    // Transições em um único UPDATE condicional: o status anterior fica na cláusula WHERE
+    public int abrirLeiloes(Collection<Long> ids) {
+        int alterados = leilaoRepository.transicionarStatus(ids, List.of(StatusLeilao.EM_ANALISE), StatusLeilao.ABERTO);
+        if (alterados > 0) {
+            cacheContagens.invalidar(Leilao.class);
+            desatualizarResumo(ids);
+            for (Object[] linha : leilaoRepository.findPrazosAbertosPorIds(ids)) {
+                Long id = (Long) linha[0];
+                cicloVidaLeiloes.cancelarAbertura(id);
+                prazosLeiloes.agendar(id, (LocalDateTime) linha[1]);
+            }
+        }
+        return alterados;
+    }
+    
+    public int encerrarLeiloes(Collection<Long> ids) {
+        List<Long> encerrados = pagamentoService.encerrarComPagamentos(ids);
+        if (!encerrados.isEmpty()) {
+            cacheContagens.invalidar(Leilao.class);
+            desatualizarResumo(encerrados);
+            descartarEstado(encerrados);
+        }
+        return encerrados.size();
+    }
+    
+    public int cancelarLeiloes(Collection<Long> ids) {
+        int alterados = leilaoRepository.transicionarStatus(ids,
+                List.of(StatusLeilao.EM_ANALISE, StatusLeilao.ABERTO), StatusLeilao.CANCELADO);
+        if (alterados > 0) {
+            cacheContagens.invalidar(Leilao.class);
+            desatualizarResumo(ids);
+            descartarEstado(leilaoRepository.findIdsPorStatus(ids, StatusLeilao.CANCELADO));
+        }
+        return alterados;
+    }
+    
+    private void descartarEstado(Collection<Long> ids) {
+        for (Long id : ids) {
+            livroLances.invalidar(id);
+            rankingLances.invalidar(id);
+            prazosLeiloes.remover(id);
+            cicloVidaLeiloes.cancelarAbertura(id);
+        }
+    }
+    
+    // O card é recalculado em segundo plano (ProjecaoResumoLeiloes)
+    private void desatualizarResumo(Collection<Long> ids) {
+        eventPublisher.publishEvent(new ResumoLeilaoDesatualizadoEvento(List.copyOf(ids)));
+    }
+    
+    private RuntimeException falhaTransicao(Long id, String mensagem) {
+        if (!leilaoRepository.existsById(id)) {
+            return new NaoEncontradoExcecao("Leilão não encontrado");
+        }
+        return new NegocioExcecao(mensagem);
+    }
+    
+    private void reagendar(Leilao leilao) {
+        if (leilao.getStatus() == StatusLeilao.ABERTO) {
+            prazosLeiloes.agendar(leilao.getId(), leilao.getDataHoraFim());
+        } else if (leilao.getStatus() == StatusLeilao.EM_ANALISE) {
+            cicloVidaLeiloes.agendarAbertura(leilao.getId(), leilao.getDataHoraInicio());
         }
-        leilao.setStatus(StatusLeilao.CANCELADO);
-        return leilaoRepository.save(leilao);
     }
     
     private void validarDatas(Leilao leilao) {
@@ -215,20 +429,4 @@ public class LeilaoService {
             throw new NegocioExcecao("Lance mínimo deve ser maior que zero");
         }
     }
-
-    public static LeilaoDTO converterParaDTO(Leilao leilao) {
-        LeilaoDTO dto = new LeilaoDTO();
-        dto.setId(leilao.getId());
-        dto.setTitulo(leilao.getTitulo());
-        dto.setDescricao(leilao.getDescricao());
-        dto.setLanceMinimo(leilao.getLanceMinimo());
-        dto.setDataHoraInicio(leilao.getDataHoraInicio());
-        dto.setDataHoraFim(leilao.getDataHoraFim());
-        dto.setStatus(leilao.getStatus());
-        dto.setValorIncremento(leilao.getValorIncremento());
-        if (leilao.getCategoria() != null) {
-            dto.setCategoriaNome(leilao.getCategoria().getNome());
-        }
-        return dto;
-    }
 }
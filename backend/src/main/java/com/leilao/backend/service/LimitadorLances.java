@@ -0,0 +1,138 @@
+package com.leilao.backend.service;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.env.Environment;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.leilao.backend.enums.TipoPerfil;
+import com.leilao.backend.exception.LimiteExcedidoExcecao;
+import com.leilao.backend.model.PessoaPerfil;
+import com.leilao.backend.model.Pessoa;
+
+import jakarta.annotation.PostConstruct;
+
+/**
+ * Limitador de lances por balde de fichas, por comprador e por leilão, verificado antes
+ * de qualquer acesso ao banco. Cada balde é um único AtomicLong com o instante teórico
+ * em que ficará cheio (forma GCRA do balde de fichas), atualizado por CAS sem trava.
+ * Limites do comprador em app.lances.limite.{PERFIL}.taxa/rajada.
+ */
+@Component
+public class LimitadorLances {
+
+    private record Limite(long intervaloNanos, long toleranciaNanos) {
+
+        static Limite de(double taxaPorSegundo, int rajada) {
+            long intervalo = (long) (TimeUnit.SECONDS.toNanos(1) / taxaPorSegundo);
+            return new Limite(intervalo, intervalo * Math.max(rajada - 1, 0));
+        }
+    }
+
+    private static final class Balde {
+
+        // Instante (nanoTime) em que o balde volta a estar cheio
+        private final AtomicLong cheioEm;
+
+        Balde(long agora) {
+            cheioEm = new AtomicLong(agora);
+        }
+
+        // Retorna 0 se consumiu uma ficha, senão os nanos até a próxima ficha
+        long consumir(Limite limite, long agora) {
+            while (true) {
+                long atual = cheioEm.get();
+                long novo = Math.max(atual, agora) + limite.intervaloNanos();
+                long espera = novo - agora - limite.toleranciaNanos() - limite.intervaloNanos();
+                if (espera > 0) {
+                    return espera;
+                }
+                if (cheioEm.compareAndSet(atual, novo)) {
+                    return 0;
+                }
+            }
+        }
+
+        boolean ocioso(long agora) {
+            return cheioEm.get() <= agora;
+        }
+    }
+
+    @Autowired
+    private Environment environment;
+
+    @Value("${app.lances.limite.habilitado:true}")
+    private boolean habilitado;
+
+    @Value("${app.lances.limite.leilao.taxa:50}")
+    private double taxaLeilao;
+
+    @Value("${app.lances.limite.leilao.rajada:100}")
+    private int rajadaLeilao;
+
+    private final Map<TipoPerfil, Limite> limitesPorPerfil = new EnumMap<>(TipoPerfil.class);
+
+    private Limite limiteLeilao;
+
+    private final ConcurrentHashMap<Long, Balde> baldesCompradores = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<Long, Balde> baldesLeiloes = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    public void iniciar() {
+        for (TipoPerfil tipo : TipoPerfil.values()) {
+            double taxa = environment.getProperty("app.lances.limite." + tipo + ".taxa", Double.class, 2.0);
+            int rajada = environment.getProperty("app.lances.limite." + tipo + ".rajada", Integer.class, 5);
+            limitesPorPerfil.put(tipo, Limite.de(taxa, rajada));
+        }
+        limiteLeilao = Limite.de(taxaLeilao, rajadaLeilao);
+    }
+
+    public void verificar(Pessoa comprador, Long leilaoId) {
+        if (!habilitado) {
+            return;
+        }
+        long agora = System.nanoTime();
+        long espera = baldesCompradores.computeIfAbsent(comprador.getId(), id -> new Balde(agora))
+                .consumir(limiteDo(comprador), agora);
+        if (espera > 0) {
+            throw new LimiteExcedidoExcecao("Muitos lances em pouco tempo. Aguarde para tentar novamente", segundos(espera));
+        }
+        espera = baldesLeiloes.computeIfAbsent(leilaoId, id -> new Balde(agora)).consumir(limiteLeilao, agora);
+        if (espera > 0) {
+            throw new LimiteExcedidoExcecao("Leilão recebendo muitos lances. Aguarde para tentar novamente", segundos(espera));
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.lances.limite.limpeza-ms:60000}")
+    public void removerOciosos() {
+        // Balde cheio equivale a um balde novo: removê-lo não muda o comportamento
+        long agora = System.nanoTime();
+        baldesCompradores.values().removeIf(balde -> balde.ocioso(agora));
+        baldesLeiloes.values().removeIf(balde -> balde.ocioso(agora));
+    }
+
+    private Limite limiteDo(Pessoa comprador) {
+        // Com mais de um perfil vale o limite mais generoso
+        Limite melhor = null;
+        if (comprador.getPessoaPerfil() != null) {
+            for (PessoaPerfil pessoaPerfil : comprador.getPessoaPerfil()) {
+                Limite limite = limitesPorPerfil.get(pessoaPerfil.getPerfil().getTipo());
+                if (limite != null && (melhor == null || limite.intervaloNanos() < melhor.intervaloNanos())) {
+                    melhor = limite;
+                }
+            }
+        }
+        return melhor != null ? melhor : limitesPorPerfil.get(TipoPerfil.COMPRADOR);
+    }
+
+    private static long segundos(long nanos) {
+        return Math.max(1, (nanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1));
+    }
+}
@@ -0,0 +1,137 @@
+package com.leilao.backend.service;
+
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import com.leilao.backend.enums.StatusLeilao;
+import com.leilao.backend.model.Lance;
+import com.leilao.backend.model.Leilao;
+import com.leilao.backend.repository.LanceRepository;
+
+/**
+ * Livro de lances em memória: mantém o maior lance, o comprador e a quantidade
+ * de lances de cada leilão ABERTO, carregado sob demanda do banco.
+ */
+@Component
+public class LivroLances {
+
+    public record Topo(Float valorLance, Long lanceId, Long compradorId, long totalLances) {
+
+        public boolean possuiLance() {
+            return valorLance != null;
+        }
+    }
+
+    // Marca do leilão no mapa: topo ainda nulo enquanto a carga do banco não foi instalada
+    private static final class Livro {
+        volatile Topo topo;
+        // Lance registrado durante a carga: ela pode ter lido o banco antes dele
+        boolean sujo;
+
+        Livro(Topo topo) {
+            this.topo = topo;
+        }
+    }
+
+    // Lances seguidos durante a carga: depois disso desiste de instalar e lê direto do banco
+    private static final int MAXIMO_RECARGAS = 3;
+
+    @Autowired
+    private LanceRepository lanceRepository;
+
+    private final ConcurrentHashMap<Long, Livro> livros = new ConcurrentHashMap<>();
+
+    public Optional<Topo> consultar(Long leilaoId) {
+        Livro livro = livros.get(leilaoId);
+        return Optional.ofNullable(livro != null ? livro.topo : null);
+    }
+
+    /**
+     * Topo do leilão. A marca entra no mapa antes da consulta ao banco (feita fora do lock do
+     * mapa), para que registrar perceba a carga em andamento; se chegou lance durante ela,
+     * a leitura é refeita antes de instalar.
+     */
+    public Topo obter(Leilao leilao) {
+        Long leilaoId = leilao.getId();
+        if (leilao.getStatus() != StatusLeilao.ABERTO) {
+            // Apenas leilões abertos ficam em memória
+            livros.remove(leilaoId);
+            return carregar(leilao);
+        }
+        Livro livro = livros.get(leilaoId);
+        if (livro != null && livro.topo != null) {
+            return livro.topo;
+        }
+
+        Livro marca = new Livro(null);
+        Livro existente = livros.putIfAbsent(leilaoId, marca);
+        if (existente != null) {
+            // Outra thread já está carregando: lê sem instalar
+            Topo topo = existente.topo;
+            return topo != null ? topo : carregar(leilao);
+        }
+        for (int tentativa = 0; tentativa < MAXIMO_RECARGAS; tentativa++) {
+            Topo carregado = carregar(leilao);
+            Livro instalado = livros.computeIfPresent(leilaoId, (id, atual) -> {
+                if (atual == marca) {
+                    if (!atual.sujo) {
+                        atual.topo = carregado;
+                    }
+                    atual.sujo = false;
+                }
+                return atual;
+            });
+            if (instalado != marca) {
+                // Invalidado durante a carga
+                return carregado;
+            }
+            if (marca.topo != null) {
+                return marca.topo;
+            }
+        }
+        livros.remove(leilaoId, marca);
+        return carregar(leilao);
+    }
+
+    public float valorMinimo(Leilao leilao) {
+        Topo topo = obter(leilao);
+        return topo.possuiLance()
+            ? topo.valorLance() + leilao.getValorIncremento()
+            : leilao.getLanceMinimo();
+    }
+
+    public void registrar(Lance lance) {
+        Long leilaoId = lance.getLeilao().getId();
+        // Livro frio: o próximo acesso carrega do banco, já com este lance
+        livros.computeIfPresent(leilaoId, (id, livro) -> {
+            Topo atual = livro.topo;
+            if (atual == null) {
+                livro.sujo = true;
+                return livro;
+            }
+            boolean superou = !atual.possuiLance() || lance.getValorLance() > atual.valorLance();
+            livro.topo = superou
+                ? new Topo(lance.getValorLance(), lance.getId(), lance.getComprador().getId(), atual.totalLances() + 1)
+                : new Topo(atual.valorLance(), atual.lanceId(), atual.compradorId(), atual.totalLances() + 1);
+            return livro;
+        });
+    }
+
+    public void semear(Long leilaoId, Topo topo) {
+        livros.putIfAbsent(leilaoId, new Livro(topo));
+    }
+
+    public void invalidar(Long leilaoId) {
+        livros.remove(leilaoId);
+    }
+
+    private Topo carregar(Leilao leilao) {
+        long total = lanceRepository.countByLeilao(leilao);
+        return lanceRepository.findMaiorLanceByLeilao(leilao)
+            .map(maior -> new Topo(maior.getValorLance(), maior.getId(), maior.getComprador().getId(), total))
+            .orElse(new Topo(null, null, null, total));
+    }
+}
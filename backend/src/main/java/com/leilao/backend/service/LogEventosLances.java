@@ -0,0 +1,279 @@
+package com.leilao.backend.service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.leilao.backend.enums.StatusLeilao;
+import com.leilao.backend.model.Lance;
+import com.leilao.backend.model.Leilao;
+import com.leilao.backend.repository.LanceRepository;
+import com.leilao.backend.repository.LeilaoRepository;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Log de eventos de lances, somente anexação, em segmentos mapeados em memória.
+ * Cada registro é [tamanho][crc32][payload]. O diário grava ACEITO antes do commit
+ * e CONFIRMADO/REJEITADO depois; na subida o log é reproduzido para reconstruir o
+ * maior lance de cada leilão aberto sem consultar a tabela de lances.
+ */
+@Component
+public class LogEventosLances {
+
+    private static final Logger log = LoggerFactory.getLogger(LogEventosLances.class);
+
+    static final byte ACEITO = 1;
+    static final byte CONFIRMADO = 2;
+    static final byte REJEITADO = 3;
+
+    // tipo + sequencia + leilaoId + compradorId + valor + dataHora + lanceId
+    private static final int TAMANHO_PAYLOAD = 1 + 8 + 8 + 8 + 4 + 8 + 8;
+    private static final int TAMANHO_REGISTRO = 4 + 4 + TAMANHO_PAYLOAD;
+    private static final String PREFIXO_SEGMENTO = "segmento-";
+    private static final String SUFIXO_SEGMENTO = ".log";
+
+    public record Evento(byte tipo, long sequencia, long leilaoId, long compradorId, float valor,
+                         long dataHora, long lanceId) {
+    }
+
+    @Autowired
+    private LeilaoRepository leilaoRepository;
+
+    @Autowired
+    private LanceRepository lanceRepository;
+
+    @Autowired
+    private LivroLances livroLances;
+
+    @Value("${app.lances.log.habilitado:true}")
+    private boolean habilitado;
+
+    @Value("${app.lances.log.dir:dados/log-lances}")
+    private String diretorio;
+
+    @Value("${app.lances.log.tamanho-segmento:67108864}")
+    private int tamanhoSegmento;
+
+    @Value("${app.lances.log.segmentos-retidos:8}")
+    private int segmentosRetidos;
+
+    // ACEITO sem desfecho encontrados na reprodução (queda entre o log e o commit)
+    private final Map<Long, Evento> pendentes = new ConcurrentHashMap<>();
+
+    private FileChannel canal;
+    private MappedByteBuffer buffer;
+    private long proximaSequencia = 1;
+    private long numeroSegmento = 0;
+
+    @PostConstruct
+    public void iniciar() {
+        if (!habilitado) {
+            return;
+        }
+        try {
+            Files.createDirectories(Paths.get(diretorio));
+            reproduzir();
+            abrirSegmento();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Erro ao abrir o log de lances", e);
+        }
+    }
+
+    @PreDestroy
+    public synchronized void encerrar() throws IOException {
+        if (canal != null) {
+            buffer.force();
+            canal.close();
+        }
+    }
+
+    public synchronized long registrarAceito(Lance lance) {
+        if (!habilitado) {
+            return 0;
+        }
+        long sequencia = proximaSequencia++;
+        anexar(ACEITO, sequencia, lance);
+        return sequencia;
+    }
+
+    public synchronized void registrarDesfecho(long sequencia, Lance lance, boolean confirmado) {
+        if (!habilitado || sequencia == 0) {
+            return;
+        }
+        anexar(confirmado ? CONFIRMADO : REJEITADO, sequencia, lance);
+    }
+
+    public synchronized void sincronizar() {
+        if (habilitado) {
+            buffer.force();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.lances.log.reconciliacao-ms:60000}")
+    public void reconciliar() {
+        if (!habilitado) {
+            return;
+        }
+        // O banco decide o desfecho dos lances que ficaram sem CONFIRMADO/REJEITADO
+        for (Evento evento : new ArrayList<>(pendentes.values())) {
+            boolean existe = lanceRepository.existsById(evento.lanceId());
+            synchronized (this) {
+                anexar(existe ? CONFIRMADO : REJEITADO, evento.sequencia(), evento.leilaoId(),
+                        evento.compradorId(), evento.valor(), evento.dataHora(), evento.lanceId());
+            }
+            pendentes.remove(evento.sequencia());
+        }
+        if (pendentes.isEmpty()) {
+            removerSegmentosAntigos();
+        }
+    }
+
+    private void reproduzir() throws IOException {
+        Map<Long, Evento> aceitos = new HashMap<>();
+        Map<Long, Evento> maiores = new HashMap<>();
+
+        for (Path segmento : listarSegmentos()) {
+            numeroSegmento = Math.max(numeroSegmento, numeroDoSegmento(segmento));
+            try (FileChannel leitura = FileChannel.open(segmento, StandardOpenOption.READ)) {
+                MappedByteBuffer dados = leitura.map(FileChannel.MapMode.READ_ONLY, 0, leitura.size());
+                Evento evento;
+                while ((evento = ler(dados)) != null) {
+                    proximaSequencia = Math.max(proximaSequencia, evento.sequencia() + 1);
+                    switch (evento.tipo()) {
+                        case ACEITO -> aceitos.put(evento.sequencia(), evento);
+                        case CONFIRMADO -> {
+                            aceitos.remove(evento.sequencia());
+                            maiores.merge(evento.leilaoId(), evento,
+                                    (atual, novo) -> novo.valor() > atual.valor() ? novo : atual);
+                        }
+                        default -> aceitos.remove(evento.sequencia());
+                    }
+                }
+            }
+        }
+        pendentes.putAll(aceitos);
+
+        // Semeia o livro apenas quando o log concorda com as colunas do leilão
+        for (Leilao leilao : leilaoRepository.findByStatus(StatusLeilao.ABERTO)) {
+            Evento maior = maiores.get(leilao.getId());
+            if (maior != null && leilao.getValorLanceAtual() != null
+                    && Float.compare(maior.valor(), leilao.getValorLanceAtual()) == 0) {
+                long total = leilao.getTotalLances() != null ? leilao.getTotalLances() : 0;
+                livroLances.semear(leilao.getId(),
+                        new LivroLances.Topo(maior.valor(), maior.lanceId(), maior.compradorId(), total));
+            }
+        }
+    }
+
+    private Evento ler(ByteBuffer dados) {
+        if (dados.remaining() < TAMANHO_REGISTRO) {
+            return null;
+        }
+        int tamanho = dados.getInt();
+        if (tamanho != TAMANHO_PAYLOAD) {
+            // Zero marca o fim dos dados do segmento; outro valor é escrita incompleta
+            return null;
+        }
+        int crcEsperado = dados.getInt();
+        byte[] payload = new byte[TAMANHO_PAYLOAD];
+        dados.get(payload);
+        CRC32 crc = new CRC32();
+        crc.update(payload);
+        if ((int) crc.getValue() != crcEsperado) {
+            return null;
+        }
+        ByteBuffer campos = ByteBuffer.wrap(payload);
+        return new Evento(campos.get(), campos.getLong(), campos.getLong(), campos.getLong(),
+                campos.getFloat(), campos.getLong(), campos.getLong());
+    }
+
+    private void anexar(byte tipo, long sequencia, Lance lance) {
+        long dataHora = lance.getDataHora().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        anexar(tipo, sequencia, lance.getLeilao().getId(), lance.getComprador().getId(),
+                lance.getValorLance(), dataHora, lance.getId());
+    }
+
+    private void anexar(byte tipo, long sequencia, long leilaoId, long compradorId, float valor,
+                        long dataHora, long lanceId) {
+        if (buffer.remaining() < TAMANHO_REGISTRO) {
+            rolarSegmento();
+        }
+        ByteBuffer payload = ByteBuffer.allocate(TAMANHO_PAYLOAD);
+        payload.put(tipo).putLong(sequencia).putLong(leilaoId).putLong(compradorId)
+                .putFloat(valor).putLong(dataHora).putLong(lanceId);
+        CRC32 crc = new CRC32();
+        crc.update(payload.array());
+
+        buffer.putInt(TAMANHO_PAYLOAD);
+        buffer.putInt((int) crc.getValue());
+        buffer.put(payload.array());
+    }
+
+    private void rolarSegmento() {
+        try {
+            buffer.force();
+            canal.close();
+            abrirSegmento();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Erro ao rolar segmento do log de lances", e);
+        }
+    }
+
+    private void abrirSegmento() throws IOException {
+        // Sempre um segmento novo: nunca sobrescreve dados de uma execução anterior
+        numeroSegmento++;
+        Path segmento = Paths.get(diretorio, String.format("%s%020d%s", PREFIXO_SEGMENTO, numeroSegmento, SUFIXO_SEGMENTO));
+        canal = FileChannel.open(segmento, StandardOpenOption.CREATE_NEW, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        buffer = canal.map(FileChannel.MapMode.READ_WRITE, 0, tamanhoSegmento);
+    }
+
+    private List<Path> listarSegmentos() throws IOException {
+        try (Stream<Path> arquivos = Files.list(Paths.get(diretorio))) {
+            return arquivos
+                    .filter(p -> p.getFileName().toString().startsWith(PREFIXO_SEGMENTO))
+                    .filter(p -> p.getFileName().toString().endsWith(SUFIXO_SEGMENTO))
+                    .sorted()
+                    .toList();
+        }
+    }
+
+    private long numeroDoSegmento(Path segmento) {
+        String nome = segmento.getFileName().toString();
+        return Long.parseLong(nome.substring(PREFIXO_SEGMENTO.length(), nome.length() - SUFIXO_SEGMENTO.length()));
+    }
+
+    private void removerSegmentosAntigos() {
+        try {
+            List<Path> segmentos = listarSegmentos();
+            // O último segmento é o que está aberto para escrita
+            for (int i = 0; i < segmentos.size() - Math.max(segmentosRetidos, 1); i++) {
+                Files.deleteIfExists(segmentos.get(i));
+            }
+        } catch (IOException e) {
+            log.warn("Erro ao remover segmentos do log de lances", e);
+        }
+    }
+}
@@ -1,23 +1,43 @@
 package com.leilao.backend.service;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import com.leilao.backend.enums.StatusLeilao;
 import com.leilao.backend.exception.NaoEncontradoExcecao;
 import com.leilao.backend.exception.NegocioExcecao;
 import com.leilao.backend.model.Leilao;
 import com.leilao.backend.model.Pagamento;
+import com.leilao.backend.repository.LanceRepository;
+import com.leilao.backend.repository.LeilaoRepository;
 import com.leilao.backend.repository.PagamentoRepository;
+import com.leilao.backend.repository.PessoaRepository;
 
 @Service
 public class PagamentoService {
+
+    public static final String STATUS_PENDENTE = "PENDENTE";
     
     @Autowired
     private PagamentoRepository pagamentoRepository;
+
+    @Autowired
+    private LanceRepository lanceRepository;
+
+    @Autowired
+    private LeilaoRepository leilaoRepository;
+
+    @Autowired
+    private PessoaRepository pessoaRepository;
     
     public List<Pagamento> listarTodos() {
         return pagamentoRepository.findAll();
@@ -52,14 +72,58 @@ public class PagamentoService {
     public List<Pagamento> buscarPorStatus(String status) {
         return pagamentoRepository.findByStatus(status);
     }
+
+    /**
+     * Encerra os leilões ainda ABERTOS entre os ids e gera os pagamentos pendentes deles na
+     * mesma transação: sem leilão encerrado sem pagamento, nem pagamento para leilão que
+     * outra operação (um cancelamento) tirou de ABERTO antes. Devolve os ids encerrados.
+     */
+    @Transactional
+    public List<Long> encerrarComPagamentos(Collection<Long> leilaoIds) {
+        List<Long> abertos = leilaoRepository.travarIdsPorStatus(leilaoIds, StatusLeilao.ABERTO);
+        if (!abertos.isEmpty()) {
+            leilaoRepository.transicionarStatus(abertos, List.of(StatusLeilao.ABERTO), StatusLeilao.ENCERRADO);
+            gerarPagamentosPendentes(abertos);
+        }
+        return abertos;
+    }
+
+    /**
+     * Gera os pagamentos pendentes dos vencedores de um lote de leilões encerrados: uma consulta
+     * para os vencedores, uma para os pagamentos já existentes e um insert em lote.
+     */
+    @Transactional
+    public int gerarPagamentosPendentes(Collection<Long> leilaoIds) {
+        if (leilaoIds.isEmpty()) {
+            return 0;
+        }
+        Set<Long> jaPagos = new HashSet<>(pagamentoRepository.findLeiloesComPagamento(leilaoIds));
+        List<Pagamento> pagamentos = new ArrayList<>();
+        LocalDateTime agora = LocalDateTime.now();
+        for (Object[] vencedor : lanceRepository.findVencedores(leilaoIds)) {
+            Long leilaoId = (Long) vencedor[0];
+            // O add evita dois pagamentos se houver empate completo entre lances
+            if (!jaPagos.add(leilaoId)) {
+                continue;
+            }
+            Pagamento pagamento = new Pagamento();
+            pagamento.setLeilao(leilaoRepository.getReferenceById(leilaoId));
+            pagamento.setComprador(pessoaRepository.getReferenceById((Long) vencedor[1]));
+            pagamento.setValor((Float) vencedor[2]);
+            pagamento.setDataHora(agora);
+            pagamento.setStatus(STATUS_PENDENTE);
+            pagamentos.add(pagamento);
+        }
+        pagamentoRepository.saveAll(pagamentos);
+        return pagamentos.size();
+    }
     
     private void validarPagamento(Pagamento pagamento) {
         if (pagamento.getValor() <= 0) {
             throw new NegocioExcecao("Valor do pagamento deve ser maior que zero");
         }
         
-        Optional<Pagamento> pagamentoExistente = buscarPorLeilao(pagamento.getLeilao());
-        if (pagamentoExistente.isPresent()) {
+        if (pagamentoRepository.existsByLeilao(pagamento.getLeilao())) {
             throw new NegocioExcecao("Já existe um pagamento para este leilão");
         }
     }
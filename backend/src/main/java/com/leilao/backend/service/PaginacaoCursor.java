@@ -0,0 +1,205 @@
+package com.leilao.backend.service;
+
+import java.beans.PropertyDescriptor;
+import java.lang.reflect.Field;
+import java.nio.charset.StandardCharsets;
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+import org.springframework.beans.BeanUtils;
+import org.springframework.beans.BeanWrapper;
+import org.springframework.beans.PropertyAccessorFactory;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.util.ReflectionUtils;
+
+import com.leilao.backend.dto.PaginaDTO;
+import com.leilao.backend.exception.NegocioExcecao;
+import com.leilao.backend.repository.LeitorProjecao;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Id;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+
+/**
+ * Listagens sem COUNT: com cursor é paginação por chave (WHERE pela chave de ordenação
+ * e pelo id do último item), sem cursor é uma fatia por deslocamento que busca um item
+ * a mais só para saber se há próxima página. O cursor é opaco para o cliente: base64url
+ * de "direção:campo:id:valor" da chave do último item entregue.
+ */
+public final class PaginacaoCursor {
+
+    private PaginacaoCursor() {
+    }
+
+    public static <T> Specification<T> todos() {
+        return (root, query, cb) -> cb.conjunction();
+    }
+
+    public static <T, R> PaginaDTO<R> listar(JpaSpecificationExecutor<T> repositorio, Specification<T> filtro,
+                                             Class<T> tipo, Pageable pageable, String cursor,
+                                             Function<T, R> conversor) {
+        Sort.Order ordem = ordemUnica(pageable.getSort(), tipo);
+        // O id desempata chaves repetidas, para que a posição do cursor seja única
+        Sort sort = ordem.getProperty().equals("id") ? Sort.by(ordem)
+                : Sort.by(ordem, new Sort.Order(ordem.getDirection(), "id"));
+
+        Slice<T> fatia;
+        if (cursor == null || cursor.isBlank()) {
+            Pageable semOrdem = PageRequest.of(pageable.getPageNumber(), pageable.getPageSize());
+            fatia = repositorio.findBy(filtro, consulta -> consulta.sortBy(sort).slice(semOrdem));
+        } else {
+            ScrollPosition posicao = decodificar(cursor, ordem, tipo);
+            Window<T> janela = repositorio.findBy(filtro,
+                    consulta -> consulta.sortBy(sort).limit(pageable.getPageSize()).scroll(posicao));
+            fatia = new SliceImpl<>(janela.getContent(), PageRequest.of(0, pageable.getPageSize(), sort), janela.hasNext());
+        }
+
+        List<T> conteudo = fatia.getContent();
+        String proximoCursor = fatia.hasNext() && !conteudo.isEmpty()
+                ? codificar(conteudo.get(conteudo.size() - 1), ordem)
+                : null;
+        return new PaginaDTO<>(fatia.map(conversor), proximoCursor);
+    }
+
+    /**
+     * Mesma paginação lendo DTOs projetados: a condição do cursor vira um predicado a mais
+     * na Specification. O campo de ordenação precisa existir também no DTO.
+     */
+    public static <T, R> PaginaDTO<R> listar(LeitorProjecao<T, R> leitor, Specification<T> filtro, Class<T> tipo,
+                                             Class<R> resultado, Pageable pageable, String cursor) {
+        Sort.Order ordem = ordemUnica(pageable.getSort(), tipo);
+        if (BeanUtils.getPropertyDescriptor(resultado, ordem.getProperty()) == null) {
+            throw new NegocioExcecao("Ordenação não suportada sem contagem: use um único campo do próprio registro");
+        }
+        Sort sort = ordem.getProperty().equals("id") ? Sort.by(ordem)
+                : Sort.by(ordem, new Sort.Order(ordem.getDirection(), "id"));
+
+        long deslocamento = pageable.getOffset();
+        Pageable pagina = PageRequest.of(pageable.getPageNumber(), pageable.getPageSize());
+        if (cursor != null && !cursor.isBlank()) {
+            filtro = filtro.and(apos(chaves(cursor, ordem, tipo), ordem));
+            deslocamento = 0;
+            pagina = PageRequest.of(0, pageable.getPageSize(), sort);
+        }
+
+        List<R> itens = leitor.ler(filtro, sort, deslocamento, pageable.getPageSize() + 1);
+        boolean haMais = itens.size() > pageable.getPageSize();
+        List<R> conteudo = haMais ? itens.subList(0, pageable.getPageSize()) : itens;
+        String proximoCursor = haMais && !conteudo.isEmpty()
+                ? codificar(conteudo.get(conteudo.size() - 1), ordem)
+                : null;
+        return new PaginaDTO<>(new SliceImpl<>(conteudo, pagina, haMais), proximoCursor);
+    }
+
+    // Depois da chave (valor, id) do cursor, na direção da ordenação
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static <T> Specification<T> apos(Map<String, Object> chaves, Sort.Order ordem) {
+        return (root, query, cb) -> {
+            Expression<Long> id = root.get("id");
+            Long ultimoId = (Long) chaves.get("id");
+            Predicate depoisDoId = ordem.isAscending() ? cb.greaterThan(id, ultimoId) : cb.lessThan(id, ultimoId);
+            if (ordem.getProperty().equals("id")) {
+                return depoisDoId;
+            }
+            Expression<Comparable> campo = root.get(ordem.getProperty());
+            Comparable valor = (Comparable) chaves.get(ordem.getProperty());
+            Predicate depoisDoValor = ordem.isAscending() ? cb.greaterThan(campo, valor) : cb.lessThan(campo, valor);
+            return cb.or(depoisDoValor, cb.and(cb.equal(campo, valor), depoisDoId));
+        };
+    }
+
+    private static Sort.Order ordemUnica(Sort sort, Class<?> tipo) {
+        List<Sort.Order> ordens = sort.toList();
+        if (ordens.size() != 1 || ordens.get(0).getProperty().contains(".")
+                || BeanUtils.getPropertyDescriptor(tipo, ordens.get(0).getProperty()) == null) {
+            throw new NegocioExcecao("Ordenação não suportada sem contagem: use um único campo do próprio registro");
+        }
+        // Chave nula não tem posição no WHERE do cursor: as linhas com ela sumiriam da listagem
+        if (!obrigatorio(tipo, ordens.get(0).getProperty())) {
+            throw new NegocioExcecao("Ordenação não suportada sem contagem: o campo pode ser vazio");
+        }
+        return ordens.get(0);
+    }
+
+    private static boolean obrigatorio(Class<?> tipo, String propriedade) {
+        Field campo = ReflectionUtils.findField(tipo, propriedade);
+        if (campo == null) {
+            return false;
+        }
+        Column coluna = campo.getAnnotation(Column.class);
+        return campo.getType().isPrimitive() || campo.isAnnotationPresent(Id.class)
+                || campo.isAnnotationPresent(NotNull.class) || campo.isAnnotationPresent(NotBlank.class)
+                || (coluna != null && !coluna.nullable());
+    }
+
+    private static String codificar(Object item, Sort.Order ordem) {
+        BeanWrapper bean = PropertyAccessorFactory.forBeanPropertyAccess(item);
+        // Nunca nula: ordemUnica só aceita campos obrigatórios
+        Object valor = bean.getPropertyValue(ordem.getProperty());
+        String texto = ordem.getDirection() + ":" + ordem.getProperty() + ":" + bean.getPropertyValue("id") + ":" + valor;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(texto.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static ScrollPosition decodificar(String cursor, Sort.Order ordem, Class<?> tipo) {
+        return ScrollPosition.forward(chaves(cursor, ordem, tipo));
+    }
+
+    private static Map<String, Object> chaves(String cursor, Sort.Order ordem, Class<?> tipo) {
+        try {
+            String texto = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] partes = texto.split(":", 4);
+            if (partes.length != 4 || !partes[0].equals(ordem.getDirection().name())
+                    || !partes[1].equals(ordem.getProperty())) {
+                throw new NegocioExcecao("Cursor não corresponde à ordenação informada");
+            }
+            PropertyDescriptor campo = BeanUtils.getPropertyDescriptor(tipo, ordem.getProperty());
+            Map<String, Object> chaves = new LinkedHashMap<>();
+            chaves.put(ordem.getProperty(), converter(partes[3], campo.getPropertyType()));
+            chaves.put("id", Long.valueOf(partes[2]));
+            return chaves;
+        } catch (IllegalArgumentException | DateTimeException e) {
+            throw new NegocioExcecao("Cursor inválido");
+        }
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static Object converter(String valor, Class<?> tipo) {
+        if (tipo == String.class) {
+            return valor;
+        } else if (tipo == Long.class || tipo == long.class) {
+            return Long.valueOf(valor);
+        } else if (tipo == Integer.class || tipo == int.class) {
+            return Integer.valueOf(valor);
+        } else if (tipo == Float.class || tipo == float.class) {
+            return Float.valueOf(valor);
+        } else if (tipo == Double.class || tipo == double.class) {
+            return Double.valueOf(valor);
+        } else if (tipo == Boolean.class || tipo == boolean.class) {
+            return Boolean.valueOf(valor);
+        } else if (tipo == LocalDateTime.class) {
+            return LocalDateTime.parse(valor);
+        } else if (tipo == LocalDate.class) {
+            return LocalDate.parse(valor);
+        } else if (tipo.isEnum()) {
+            return Enum.valueOf((Class<Enum>) tipo, valor);
+        }
+        throw new NegocioExcecao("Ordenação não suportada sem contagem: " + tipo.getSimpleName());
+    }
+}
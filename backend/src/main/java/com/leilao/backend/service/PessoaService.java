@@ -18,6 +18,7 @@ import org.thymeleaf.context.Context;
 import com.leilao.backend.exception.NaoEncontradoExcecao;
 import com.leilao.backend.model.Pessoa;
 import com.leilao.backend.repository.PessoaRepository;
+import com.leilao.backend.repository.PessoaSpecifications;
 
 import java.util.Date;
 import java.util.UUID;
@@ -27,6 +28,9 @@ public class PessoaService implements UserDetailsService {
     @Autowired
     private PessoaRepository pessoaRepository;
 
+    @Autowired
+    private CacheContagens cacheContagens;
+
     @Autowired
     private MessageSource messageSource;
 
@@ -94,17 +98,27 @@ public class PessoaService implements UserDetailsService {
                         new Object[] { id }, LocaleContextHolder.getLocale())));
     }
 
+    // 404 de buscarPorId sem carregar a pessoa (foto e perfis)
+    public void verificarExistencia(Long id) {
+        if (!pessoaRepository.existsById(id)) {
+            throw new NaoEncontradoExcecao(messageSource.getMessage("pessoa.notfound",
+                    new Object[] { id }, LocaleContextHolder.getLocale()));
+        }
+    }
+
     public Page<Pessoa> buscarTodos(Pageable pageable) {
         return pessoaRepository.findAll(pageable);
     }
 
-    public Page<Pessoa> buscarComFiltros(PessoaFilterDTO filtros, Pageable pageable) {
-        return pessoaRepository.findByFiltros(
-            filtros.getNome(),
-            filtros.getEmail(),
-            filtros.getAtivo(),
-            pageable
-        );
+    public PaginaDTO<PessoaRespostaDTO> buscarSemContagem(PessoaFilterDTO filtros, Pageable pageable, String cursor) {
+        return PaginacaoCursor.listar(pessoaRepository::listarRespostas, PessoaSpecifications.comFiltros(filtros),
+                Pessoa.class, PessoaRespostaDTO.class, pageable, cursor);
+    }
+
+    public PaginaDTO<PessoaRespostaDTO> buscarComFiltros(PessoaFilterDTO filtros, Pageable pageable) {
+        Object chave = CacheContagens.chave(filtros.getNome(), filtros.getEmail(), filtros.getAtivo());
+        return cacheContagens.listar(pessoaRepository::listarRespostas, pessoaRepository,
+                PessoaSpecifications.comFiltros(filtros), Pessoa.class, chave, pageable);
     }
 
     @Override
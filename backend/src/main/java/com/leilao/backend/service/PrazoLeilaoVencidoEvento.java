@@ -0,0 +1,9 @@
+package com.leilao.backend.service;
+
+import java.time.LocalDateTime;
+
+/**
+ * Publicado pela roda de prazos quando o fim (já com prorrogações) de um leilão aberto chega.
+ */
+public record PrazoLeilaoVencidoEvento(Long leilaoId, LocalDateTime dataHoraFim) {
+}
@@ -0,0 +1,171 @@
+package com.leilao.backend.service;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import com.leilao.backend.model.Leilao;
+import com.leilao.backend.repository.LeilaoRepository;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Prazos de encerramento dos leilões abertos, em memória e agendados numa roda temporal
+ * hierárquica. É a fonte do fim efetivo usado na validação de lances. Com o fechamento
+ * suave (app.leiloes.fechamento-suave.habilitado) um lance aceito nos últimos
+ * janela-segundos prorroga o fim em extensao-segundos.
+ */
+@Component
+public class PrazosLeiloes {
+
+    private static final Logger log = LoggerFactory.getLogger(PrazosLeiloes.class);
+
+    @Autowired
+    private LeilaoRepository leilaoRepository;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private CacheContagens cacheContagens;
+
+    @Value("${app.leiloes.prazos.tick-ms:1000}")
+    private long tickMs;
+
+    @Value("${app.leiloes.fechamento-suave.habilitado:false}")
+    private boolean fechamentoSuave;
+
+    @Value("${app.leiloes.fechamento-suave.janela-segundos:60}")
+    private long janelaSegundos;
+
+    @Value("${app.leiloes.fechamento-suave.extensao-segundos:60}")
+    private long extensaoSegundos;
+
+    // Fim efetivo em epoch millis; continua aqui após vencer, até o leilão sair de ABERTO
+    private final ConcurrentHashMap<Long, Long> fins = new ConcurrentHashMap<>();
+
+    // Prorrogações gravadas fora da thread do diário
+    private final ExecutorService gravacao = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "prazos-leiloes-gravacao");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private RodaTemporal<Long> roda;
+
+    private Thread thread;
+
+    private volatile boolean executando;
+
+    @PostConstruct
+    public void iniciar() {
+        roda = new RodaTemporal<>(tickMs, System.currentTimeMillis());
+        for (Object[] linha : leilaoRepository.findPrazosAbertos()) {
+            agendar((Long) linha[0], (LocalDateTime) linha[1]);
+        }
+    }
+
+    // Só depois da subida: os ouvintes de PrazoLeilaoVencidoEvento já estão registrados
+    @EventListener(ApplicationReadyEvent.class)
+    public void iniciarRelogio() {
+        executando = true;
+        thread = new Thread(this::executar, "prazos-leiloes");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    @PreDestroy
+    public void parar() {
+        executando = false;
+        if (thread != null) {
+            thread.interrupt();
+        }
+        gravacao.shutdown();
+    }
+
+    public void agendar(Long leilaoId, LocalDateTime dataHoraFim) {
+        long fim = paraMillis(dataHoraFim);
+        fins.put(leilaoId, fim);
+        roda.agendar(leilaoId, fim);
+    }
+
+    public void remover(Long leilaoId) {
+        fins.remove(leilaoId);
+        roda.cancelar(leilaoId);
+    }
+
+    public LocalDateTime fim(Leilao leilao) {
+        Long fim = fins.get(leilao.getId());
+        return fim != null ? paraDataHora(fim) : leilao.getDataHoraFim();
+    }
+
+    public boolean vencido(Long leilaoId, long agoraMillis) {
+        Long fim = fins.get(leilaoId);
+        return fim != null && fim <= agoraMillis;
+    }
+
+    @EventListener
+    public void aoAceitarLance(LanceAceitoEvento evento) {
+        if (!fechamentoSuave) {
+            return;
+        }
+        long instanteLance = paraMillis(evento.dataHora());
+        long janela = TimeUnit.SECONDS.toMillis(janelaSegundos);
+        fins.computeIfPresent(evento.leilaoId(), (leilaoId, fim) -> {
+            if (instanteLance > fim || fim - instanteLance > janela) {
+                return fim;
+            }
+            long novoFim = fim + TimeUnit.SECONDS.toMillis(extensaoSegundos);
+            roda.agendar(leilaoId, novoFim);
+            LocalDateTime dataHoraFim = paraDataHora(novoFim);
+            gravacao.execute(() -> {
+                leilaoRepository.prorrogar(leilaoId, dataHoraFim);
+                cacheContagens.invalidar(Leilao.class);
+                eventPublisher.publishEvent(new ResumoLeilaoDesatualizadoEvento(List.of(leilaoId)));
+            });
+            return novoFim;
+        });
+    }
+
+    private void executar() {
+        while (executando) {
+            try {
+                long agora = System.currentTimeMillis();
+                List<RodaTemporal.Expirado<Long>> vencidos = roda.avancar(agora);
+                for (RodaTemporal.Expirado<Long> vencido : vencidos) {
+                    eventPublisher.publishEvent(
+                            new PrazoLeilaoVencidoEvento(vencido.chave(), paraDataHora(vencido.instanteMillis())));
+                }
+                Thread.sleep(tickMs - System.currentTimeMillis() % tickMs);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                log.error("Erro ao processar prazos de leilões", e);
+            }
+        }
+    }
+
+    private static long paraMillis(LocalDateTime dataHora) {
+        return dataHora.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    private static LocalDateTime paraDataHora(long millis) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(millis), ZoneId.systemDefault());
+    }
+}
@@ -0,0 +1,285 @@
+package com.leilao.backend.service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.leilao.backend.enums.StatusLeilao;
+import com.leilao.backend.model.ResumoLeilao;
+import com.leilao.backend.repository.FeedbackRepository;
+import com.leilao.backend.repository.ImagemRepository;
+import com.leilao.backend.repository.LeilaoRepository;
+import com.leilao.backend.repository.ResumoLeilaoRepository;
+
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+
+/**
+ * Mantém a tabela resumo_leilao (cards da listagem). As escritas só publicam quais leilões
+ * ou vendedores mudaram; os ids se acumulam em conjuntos e uma thread própria recalcula as
+ * linhas em lotes de app.leiloes.resumo.lote, com uma consulta por fonte (leilão, primeira
+ * imagem, avaliações). Na subida a tabela é reconstruída inteira, o que também corrige
+ * nomes de categoria e vendedor alterados desde então.
+ */
+@Component
+public class ProjecaoResumoLeiloes {
+
+    private static final Logger log = LoggerFactory.getLogger(ProjecaoResumoLeiloes.class);
+
+    private static final long ESPERA_INICIAL_MS = 1000;
+
+    private static final long ESPERA_MAXIMA_MS = 60000;
+
+    @Autowired
+    private LeilaoRepository leilaoRepository;
+
+    @Autowired
+    private ImagemRepository imagemRepository;
+
+    @Autowired
+    private FeedbackRepository feedbackRepository;
+
+    @Autowired
+    private ResumoLeilaoRepository resumoRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${app.leiloes.resumo.lote:500}")
+    private int lote;
+
+    @Value("${app.leiloes.resumo.reconstruir-na-subida:true}")
+    private boolean reconstruirNaSubida;
+
+    private final Set<Long> leiloesPendentes = ConcurrentHashMap.newKeySet();
+
+    private final Set<Long> vendedoresPendentes = ConcurrentHashMap.newKeySet();
+
+    // Evita enfileirar uma rodada por evento: várias escritas seguidas viram uma só
+    private final AtomicBoolean agendado = new AtomicBoolean();
+
+    // Espera antes de repetir uma rodada que falhou; dobra a cada falha seguida. Só a
+    // thread de atualização mexe nela
+    private long espera;
+
+    private final ScheduledExecutorService atualizacao = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "resumo-leiloes");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void iniciar() {
+        if (reconstruirNaSubida) {
+            atualizacao.execute(this::reconstruir);
+        }
+    }
+
+    @PreDestroy
+    public void parar() {
+        atualizacao.shutdown();
+    }
+
+    // Depois do commit de quem publicou, para não ler o estado anterior à escrita
+    @TransactionalEventListener(fallbackExecution = true)
+    public void aoDesatualizar(ResumoLeilaoDesatualizadoEvento evento) {
+        leiloesPendentes.addAll(evento.leilaoIds());
+        agendar();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void aoAlterarAvaliacao(AvaliacaoVendedorAlteradaEvento evento) {
+        vendedoresPendentes.add(evento.vendedorId());
+        agendar();
+    }
+
+    // O diário de lances já publica depois do commit do lote
+    @EventListener
+    public void aoAceitarLance(LanceAceitoEvento evento) {
+        leiloesPendentes.add(evento.leilaoId());
+        agendar();
+    }
+
+    private void agendar() {
+        if (agendado.compareAndSet(false, true)) {
+            atualizacao.execute(this::processarPendentes);
+        }
+    }
+
+    private void processarPendentes() {
+        // Eventos que chegarem a partir daqui agendam outra rodada
+        agendado.set(false);
+        List<Long> leiloes = drenar(leiloesPendentes);
+        List<Long> vendedores = drenar(vendedoresPendentes);
+        try {
+            for (int inicio = 0; inicio < leiloes.size(); inicio += lote) {
+                atualizar(leiloes.subList(inicio, Math.min(inicio + lote, leiloes.size())));
+            }
+            if (!vendedores.isEmpty()) {
+                atualizarAvaliacoes(vendedores);
+            }
+            espera = 0;
+        } catch (RuntimeException e) {
+            // Voltam para os pendentes e saem na próxima rodada, mesmo sem novos eventos
+            leiloesPendentes.addAll(leiloes);
+            vendedoresPendentes.addAll(vendedores);
+            espera = espera == 0 ? ESPERA_INICIAL_MS : Math.min(espera * 2, ESPERA_MAXIMA_MS);
+            log.error("Falha ao atualizar o resumo de {} leilões; nova tentativa em {} ms",
+                    leiloes.size(), espera, e);
+            if (agendado.compareAndSet(false, true)) {
+                atualizacao.schedule(this::processarPendentes, espera, TimeUnit.MILLISECONDS);
+            }
+        }
+    }
+
+    private void reconstruir() {
+        long inicio = System.currentTimeMillis();
+        try {
+            long total = 0;
+            Long ultimoId = 0L;
+            List<Long> ids;
+            do {
+                ids = leilaoRepository.findIdsApos(ultimoId, Limit.of(lote));
+                if (!ids.isEmpty()) {
+                    atualizar(ids);
+                    ultimoId = ids.get(ids.size() - 1);
+                    total += ids.size();
+                }
+            } while (ids.size() == lote);
+            resumoRepository.excluirOrfaos();
+            log.info("Resumo de leilões reconstruído: {} leilões em {} ms", total,
+                    System.currentTimeMillis() - inicio);
+        } catch (RuntimeException e) {
+            log.error("Falha ao reconstruir o resumo de leilões", e);
+        }
+    }
+
+    // Recalcula as linhas dos ids informados; ids sem leilão têm a linha removida
+    private void atualizar(Collection<Long> ids) {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            Map<Long, ResumoLeilao> existentes = new HashMap<>();
+            for (ResumoLeilao resumo : resumoRepository.findAllById(ids)) {
+                existentes.put(resumo.getId(), resumo);
+            }
+
+            List<Object[]> linhas = leilaoRepository.findParaResumo(ids);
+            Map<Long, String> imagens = new HashMap<>();
+            for (Object[] imagem : imagemRepository.findPrimeirasPorLeiloes(ids)) {
+                imagens.put((Long) imagem[0], ImagemService.urlImagem((String) imagem[1]));
+            }
+            Set<Long> vendedorIds = new HashSet<>();
+            for (Object[] linha : linhas) {
+                if (linha[11] != null) {
+                    vendedorIds.add((Long) linha[11]);
+                }
+            }
+            Map<Long, Object[]> avaliacoes = avaliacoesPorVendedor(vendedorIds);
+
+            LocalDateTime agora = LocalDateTime.now();
+            Set<Long> encontrados = new HashSet<>();
+            for (Object[] linha : linhas) {
+                Long id = (Long) linha[0];
+                encontrados.add(id);
+                ResumoLeilao resumo = existentes.get(id);
+                boolean novo = resumo == null;
+                if (novo) {
+                    resumo = new ResumoLeilao();
+                    resumo.setId(id);
+                }
+                preencher(resumo, linha, imagens.get(id), avaliacoes.get((Long) linha[11]));
+                resumo.setAtualizadoEm(agora);
+                // As já existentes são gravadas pelo dirty checking no commit
+                if (novo) {
+                    entityManager.persist(resumo);
+                }
+            }
+
+            List<Long> removidos = new ArrayList<>();
+            for (Long id : ids) {
+                if (!encontrados.contains(id) && existentes.containsKey(id)) {
+                    removidos.add(id);
+                }
+            }
+            if (!removidos.isEmpty()) {
+                resumoRepository.deleteAllByIdInBatch(removidos);
+            }
+        });
+    }
+
+    private void atualizarAvaliacoes(Collection<Long> vendedorIds) {
+        Map<Long, Object[]> avaliacoes = avaliacoesPorVendedor(vendedorIds);
+        for (Long vendedorId : vendedorIds) {
+            Object[] avaliacao = avaliacoes.get(vendedorId);
+            resumoRepository.atualizarAvaliacaoVendedor(vendedorId,
+                    avaliacao != null ? (Double) avaliacao[1] : null,
+                    avaliacao != null ? (Long) avaliacao[2] : 0L);
+        }
+    }
+
+    private Map<Long, Object[]> avaliacoesPorVendedor(Collection<Long> vendedorIds) {
+        Map<Long, Object[]> avaliacoes = new HashMap<>();
+        if (!vendedorIds.isEmpty()) {
+            for (Object[] avaliacao : feedbackRepository.findAvaliacoesPorDestinatarios(vendedorIds)) {
+                avaliacoes.put((Long) avaliacao[0], avaliacao);
+            }
+        }
+        return avaliacoes;
+    }
+
+    // Colunas na ordem de LeilaoRepository.findParaResumo
+    private static void preencher(ResumoLeilao resumo, Object[] linha, String urlImagem, Object[] avaliacao) {
+        resumo.setTitulo((String) linha[1]);
+        resumo.setStatus((StatusLeilao) linha[2]);
+        resumo.setDataHoraInicio((LocalDateTime) linha[3]);
+        resumo.setDataHoraFim((LocalDateTime) linha[4]);
+        resumo.setLanceMinimo((Float) linha[5]);
+        resumo.setValorIncremento((Float) linha[6]);
+        resumo.setValorLanceAtual((Float) linha[7]);
+        resumo.setPreco(linha[7] != null ? (Float) linha[7] : (Float) linha[5]);
+        resumo.setTotalLances(linha[8] != null ? (Integer) linha[8] : 0);
+        resumo.setCategoriaId((Long) linha[9]);
+        resumo.setCategoriaNome((String) linha[10]);
+        resumo.setVendedorId((Long) linha[11]);
+        resumo.setVendedorNome((String) linha[12]);
+        resumo.setUrlImagem(urlImagem);
+        resumo.setNotaVendedor(avaliacao != null ? (Double) avaliacao[1] : null);
+        resumo.setAvaliacoesVendedor(avaliacao != null ? (Long) avaliacao[2] : 0L);
+    }
+
+    private static List<Long> drenar(Set<Long> pendentes) {
+        List<Long> ids = new ArrayList<>();
+        Iterator<Long> iterador = pendentes.iterator();
+        while (iterador.hasNext()) {
+            ids.add(iterador.next());
+            iterador.remove();
+        }
+        return ids;
+    }
+}
@@ -0,0 +1,135 @@
+package com.leilao.backend.service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+
+import com.leilao.backend.dto.LanceHistoricoDTO;
+import com.leilao.backend.repository.LanceRepository;
+
+/**
+ * Ranking dos maiores lances de cada leilão ABERTO: um min-heap limitado a
+ * app.lances.top.tamanho entradas, carregado uma vez do banco e depois mantido
+ * pelos lances aceitos. O menor do ranking fica na raiz e é o único comparado.
+ */
+@Component
+public class RankingLances {
+
+    // Mesma ordem do histórico: valor e, no empate, o lance mais recente
+    private static final Comparator<LanceHistoricoDTO> ORDEM = Comparator
+            .comparing(LanceHistoricoDTO::getValorLance)
+            .thenComparing(LanceHistoricoDTO::getId);
+
+    @Autowired
+    private LanceRepository lanceRepository;
+
+    @Value("${app.lances.top.tamanho:20}")
+    private int tamanho;
+
+    private final ConcurrentHashMap<Long, Ranking> rankings = new ConcurrentHashMap<>();
+
+    public int getTamanho() {
+        return tamanho;
+    }
+
+    public Optional<List<LanceHistoricoDTO>> consultar(Long leilaoId, int n) {
+        Ranking ranking = rankings.get(leilaoId);
+        return ranking != null && ranking.carregado() ? Optional.of(ranking.topo(n)) : Optional.empty();
+    }
+
+    /**
+     * O ranking entra no mapa antes da consulta ao banco: lances aceitos durante a carga
+     * ficam guardados nele e são aplicados junto com o resultado.
+     */
+    public List<LanceHistoricoDTO> carregar(Long leilaoId, int n) {
+        Ranking novo = new Ranking(tamanho);
+        Ranking existente = rankings.putIfAbsent(leilaoId, novo);
+        if (existente != null) {
+            if (existente.carregado()) {
+                return existente.topo(n);
+            }
+            // Outra thread está carregando: responde direto do banco
+            List<LanceHistoricoDTO> lances = lanceRepository.findHistorico(leilaoId, 0L, Limit.of(tamanho));
+            return lances.subList(0, Math.min(n, lances.size()));
+        }
+        try {
+            novo.instalar(lanceRepository.findHistorico(leilaoId, 0L, Limit.of(tamanho)));
+        } catch (RuntimeException e) {
+            rankings.remove(leilaoId, novo);
+            throw e;
+        }
+        return novo.topo(n);
+    }
+
+    public void invalidar(Long leilaoId) {
+        rankings.remove(leilaoId);
+    }
+
+    @EventListener
+    public void aoAceitarLance(LanceAceitoEvento evento) {
+        Ranking ranking = rankings.get(evento.leilaoId());
+        if (ranking != null) {
+            ranking.oferecer(new LanceHistoricoDTO(evento.lanceId(), evento.valorLance(), evento.dataHora(),
+                    evento.nomeComprador()));
+        }
+    }
+
+    private static class Ranking {
+
+        private final int capacidade;
+        private final PriorityQueue<LanceHistoricoDTO> heap;
+        // Lances que chegaram antes do fim da carga; nula depois dela
+        private List<LanceHistoricoDTO> pendentes = new ArrayList<>();
+
+        Ranking(int capacidade) {
+            this.capacidade = capacidade;
+            this.heap = new PriorityQueue<>(capacidade + 1, ORDEM);
+        }
+
+        synchronized boolean carregado() {
+            return pendentes == null;
+        }
+
+        synchronized void instalar(List<LanceHistoricoDTO> carga) {
+            carga.forEach(this::inserir);
+            pendentes.forEach(this::inserir);
+            pendentes = null;
+        }
+
+        synchronized void oferecer(LanceHistoricoDTO lance) {
+            if (pendentes != null) {
+                pendentes.add(lance);
+            } else {
+                inserir(lance);
+            }
+        }
+
+        private void inserir(LanceHistoricoDTO lance) {
+            if (heap.size() < capacidade) {
+                // A carga inicial pode já conter o lance que chegou pelo evento
+                if (heap.stream().noneMatch(l -> l.getId().equals(lance.getId()))) {
+                    heap.offer(lance);
+                }
+            } else if (ORDEM.compare(lance, heap.peek()) > 0
+                    && heap.stream().noneMatch(l -> l.getId().equals(lance.getId()))) {
+                heap.poll();
+                heap.offer(lance);
+            }
+        }
+
+        synchronized List<LanceHistoricoDTO> topo(int n) {
+            List<LanceHistoricoDTO> ordenados = new ArrayList<>(heap);
+            ordenados.sort(ORDEM.reversed());
+            return ordenados.subList(0, Math.min(n, ordenados.size()));
+        }
+    }
+}
@@ -0,0 +1,10 @@
+package com.leilao.backend.service;
+
+import java.util.Collection;
+
+/**
+ * Publicado depois de qualquer escrita que muda o card dos leilões informados (o próprio
+ * leilão, seus lances ou suas imagens). Consumido por ProjecaoResumoLeiloes.
+ */
+public record ResumoLeilaoDesatualizadoEvento(Collection<Long> leilaoIds) {
+}
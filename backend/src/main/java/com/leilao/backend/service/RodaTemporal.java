@@ -0,0 +1,137 @@
+package com.leilao.backend.service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Roda temporal hierárquica: NIVEIS rodas de SLOTS posições, cada nível com resolução
+ * SLOTS vezes maior que o anterior. Agendar, reagendar e cancelar são O(1); a cada tick
+ * só a posição corrente do nível 0 é examinada e, quando um nível completa a volta, uma
+ * posição do nível acima desce para os níveis inferiores.
+ */
+public class RodaTemporal<K> {
+
+    private static final int BITS = 6;
+    private static final int SLOTS = 1 << BITS;
+    private static final int MASCARA = SLOTS - 1;
+    private static final int NIVEIS = 4;
+
+    public record Expirado<K>(K chave, long instanteMillis) {
+    }
+
+    private static final class Entrada<K> {
+        private final K chave;
+        private long instanteMillis;
+        private Set<Entrada<K>> posicao;
+
+        Entrada(K chave) {
+            this.chave = chave;
+        }
+    }
+
+    private final long tickMs;
+    private final Set<Entrada<K>>[][] rodas;
+    // Prazos além do último nível: reexaminados a cada volta completa do último nível
+    private final Set<Entrada<K>> excedentes = new LinkedHashSet<>();
+    private final Map<K, Entrada<K>> entradas = new HashMap<>();
+    private long tickAtual;
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public RodaTemporal(long tickMs, long agoraMillis) {
+        this.tickMs = tickMs;
+        this.tickAtual = agoraMillis / tickMs;
+        this.rodas = new Set[NIVEIS][SLOTS];
+        for (int nivel = 0; nivel < NIVEIS; nivel++) {
+            for (int slot = 0; slot < SLOTS; slot++) {
+                rodas[nivel][slot] = new LinkedHashSet<>();
+            }
+        }
+    }
+
+    public synchronized void agendar(K chave, long instanteMillis) {
+        Entrada<K> entrada = entradas.computeIfAbsent(chave, Entrada::new);
+        if (entrada.posicao != null) {
+            entrada.posicao.remove(entrada);
+        }
+        entrada.instanteMillis = instanteMillis;
+        inserir(entrada);
+    }
+
+    public synchronized boolean cancelar(K chave) {
+        Entrada<K> entrada = entradas.remove(chave);
+        if (entrada == null) {
+            return false;
+        }
+        entrada.posicao.remove(entrada);
+        return true;
+    }
+
+    public synchronized int tamanho() {
+        return entradas.size();
+    }
+
+    /**
+     * Avança a roda até o instante informado e devolve o que venceu, na ordem dos ticks.
+     */
+    public synchronized List<Expirado<K>> avancar(long agoraMillis) {
+        List<Expirado<K>> expirados = new ArrayList<>();
+        long alvo = agoraMillis / tickMs;
+        while (tickAtual < alvo) {
+            tickAtual++;
+            cascatear();
+            Set<Entrada<K>> slot = rodas[0][(int) (tickAtual & MASCARA)];
+            for (Entrada<K> entrada : new ArrayList<>(slot)) {
+                slot.remove(entrada);
+                if (entrada.instanteMillis / tickMs <= tickAtual) {
+                    entradas.remove(entrada.chave);
+                    expirados.add(new Expirado<>(entrada.chave, entrada.instanteMillis));
+                } else {
+                    inserir(entrada);
+                }
+            }
+        }
+        return expirados;
+    }
+
+    private void cascatear() {
+        // Do nível mais alto para o mais baixo, para que as entradas desçam em um só tick
+        for (int nivel = NIVEIS - 1; nivel >= 1; nivel--) {
+            if ((tickAtual & ((1L << (BITS * nivel)) - 1)) != 0) {
+                continue;
+            }
+            if (nivel == NIVEIS - 1) {
+                reinserir(excedentes);
+            }
+            reinserir(rodas[nivel][(int) ((tickAtual >> (BITS * nivel)) & MASCARA)]);
+        }
+    }
+
+    private void reinserir(Set<Entrada<K>> posicao) {
+        List<Entrada<K>> entradasDaPosicao = new ArrayList<>(posicao);
+        posicao.clear();
+        for (Entrada<K> entrada : entradasDaPosicao) {
+            inserir(entrada);
+        }
+    }
+
+    private void inserir(Entrada<K> entrada) {
+        // Prazo vencido ou no tick corrente vai para o próximo tick
+        long tick = Math.max(entrada.instanteMillis / tickMs, tickAtual + 1);
+        // Menor nível em que os dígitos acima coincidem com o tick atual: a posição
+        // ainda não foi percorrida nesta volta
+        for (int nivel = 0; nivel < NIVEIS; nivel++) {
+            int deslocamento = BITS * (nivel + 1);
+            if ((tick >> deslocamento) == (tickAtual >> deslocamento)) {
+                entrada.posicao = rodas[nivel][(int) ((tick >> (BITS * nivel)) & MASCARA)];
+                entrada.posicao.add(entrada);
+                return;
+            }
+        }
+        entrada.posicao = excedentes;
+        excedentes.add(entrada);
+    }
+}
@@ -0,0 +1,166 @@
+package com.leilao.backend.service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.leilao.backend.exception.NegocioExcecao;
+import com.leilao.backend.model.Lance;
+import com.leilao.backend.model.Leilao;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Ingestão sequenciada de lances: cada leilão é atendido sempre pela mesma faixa,
+ * uma thread única que valida os lances em ordem e os entrega em micro-lotes ao diário.
+ * Ativado com app.lances.modo=sequenciado.
+ */
+@Component
+public class SequenciadorLances {
+
+    private static final long ESPERA_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    private record Pedido(Lance lance, CompletableFuture<Lance> resultado) {
+    }
+
+    @Autowired
+    private LanceService lanceService;
+
+    @Value("${app.lances.modo:sincrono}")
+    private String modo;
+
+    @Value("${app.lances.sequenciador.faixas:4}")
+    private int quantidadeFaixas;
+
+    @Value("${app.lances.sequenciador.lote-maximo:64}")
+    private int loteMaximo;
+
+    private Faixa[] faixas;
+
+    private volatile boolean executando;
+
+    @PostConstruct
+    public void iniciar() {
+        if (!isAtivo()) {
+            return;
+        }
+        executando = true;
+        faixas = new Faixa[quantidadeFaixas];
+        for (int i = 0; i < quantidadeFaixas; i++) {
+            faixas[i] = new Faixa(i);
+            faixas[i].thread.start();
+        }
+    }
+
+    @PreDestroy
+    public void parar() {
+        executando = false;
+        if (faixas == null) {
+            return;
+        }
+        for (Faixa faixa : faixas) {
+            LockSupport.unpark(faixa.thread);
+        }
+    }
+
+    public boolean isAtivo() {
+        return "sequenciado".equalsIgnoreCase(modo);
+    }
+
+    public CompletableFuture<Lance> submeter(Lance lance) {
+        if (!executando) {
+            return CompletableFuture.failedFuture(new NegocioExcecao("Sequenciador de lances não está ativo"));
+        }
+        Faixa faixa = faixas[Math.floorMod(lance.getLeilao().getId().hashCode(), faixas.length)];
+        Pedido pedido = new Pedido(lance, new CompletableFuture<>());
+        faixa.fila.offer(pedido);
+        LockSupport.unpark(faixa.thread);
+        return pedido.resultado();
+    }
+
+    private class Faixa {
+
+        // Fila MPSC sem bloqueio: várias threads HTTP produzem, apenas a faixa consome
+        private final ConcurrentLinkedQueue<Pedido> fila = new ConcurrentLinkedQueue<>();
+        private final Thread thread;
+
+        Faixa(int indice) {
+            thread = new Thread(this::executar, "sequenciador-lances-" + indice);
+            thread.setDaemon(true);
+        }
+
+        private void executar() {
+            List<Pedido> lote = new ArrayList<>(loteMaximo);
+            while (executando) {
+                Pedido pedido;
+                while (lote.size() < loteMaximo && (pedido = fila.poll()) != null) {
+                    lote.add(pedido);
+                }
+                if (lote.isEmpty()) {
+                    LockSupport.parkNanos(this, ESPERA_NANOS);
+                    continue;
+                }
+                processar(lote);
+                lote.clear();
+            }
+            Pedido restante;
+            while ((restante = fila.poll()) != null) {
+                restante.resultado().completeExceptionally(new NegocioExcecao("Sequenciador de lances encerrado"));
+            }
+        }
+
+        private void processar(List<Pedido> lote) {
+            // Maior lance aceito neste lote e ainda não confirmado, por leilão
+            Map<Long, Float> pendentes = new HashMap<>();
+            List<Pedido> aceitos = new ArrayList<>(lote.size());
+
+            for (Pedido pedido : lote) {
+                Lance lance = pedido.lance();
+                Leilao leilao = lance.getLeilao();
+                try {
+                    Float pendente = pendentes.get(leilao.getId());
+                    float valorMinimo = pendente != null
+                        ? pendente + leilao.getValorIncremento()
+                        : lanceService.valorMinimo(leilao);
+                    lanceService.validarLance(lance, valorMinimo);
+                    lance.setDataHora(LocalDateTime.now());
+                    pendentes.put(leilao.getId(), lance.getValorLance());
+                    aceitos.add(pedido);
+                } catch (RuntimeException e) {
+                    pedido.resultado().completeExceptionally(e);
+                }
+            }
+
+            if (aceitos.isEmpty()) {
+                return;
+            }
+
+            // Persistência pelo diário (commit em grupo com as demais faixas); a faixa
+            // aguarda o lote para que o próximo seja validado contra o livro já atualizado
+            CompletableFuture<?>[] gravacoes = new CompletableFuture<?>[aceitos.size()];
+            for (int i = 0; i < aceitos.size(); i++) {
+                Pedido pedido = aceitos.get(i);
+                gravacoes[i] = lanceService.registrarNoDiario(pedido.lance())
+                    .whenComplete((lanceSalvo, erro) -> {
+                        if (erro != null) {
+                            pedido.resultado().completeExceptionally(erro);
+                        } else {
+                            pedido.resultado().complete(lanceSalvo);
+                        }
+                    });
+            }
+            CompletableFuture.allOf(gravacoes).exceptionally(erro -> null).join();
+        }
+    }
+}
@@ -0,0 +1,251 @@
+package com.leilao.backend.service;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.leilao.backend.dto.LanceStreamDTO;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Transmissão SSE dos lances aceitos. Cada leilão tem um canal com seus assinantes
+ * e um buffer circular dos últimos eventos para retomada via Last-Event-ID; o evento
+ * é serializado uma única vez e o mesmo conteúdo é escrito para todos os assinantes.
+ * Os envios de cada canal saem em ordem, um por vez, num pool compartilhado: um cliente
+ * lento atrasa só o próprio leilão.
+ */
+@Component
+public class TransmissorLances {
+
+    private static final Logger log = LoggerFactory.getLogger(TransmissorLances.class);
+
+    private static final String NOME_EVENTO = "lance";
+
+    private record Mensagem(long id, Set<ResponseBodyEmitter.DataWithMediaType> conteudo) {
+    }
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private LivroLances livroLances;
+
+    @Value("${app.lances.stream.timeout-ms:1800000}")
+    private long timeoutMs;
+
+    @Value("${app.lances.stream.buffer-eventos:32}")
+    private int tamanhoBuffer;
+
+    @Value("${app.lances.stream.inativo-ms:300000}")
+    private long inativoMs;
+
+    @Value("${app.lances.stream.threads-envio:4}")
+    private int threadsEnvio;
+
+    private final ConcurrentHashMap<Long, Canal> canais = new ConcurrentHashMap<>();
+
+    // Envio fora da thread do diário: um cliente lento não atrasa o commit em grupo
+    private ExecutorService envio;
+
+    @PostConstruct
+    public void iniciar() {
+        envio = Executors.newFixedThreadPool(Math.max(threadsEnvio, 1), r -> {
+            Thread thread = new Thread(r, "transmissor-lances");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    public void encerrar() {
+        envio.shutdownNow();
+        canais.values().forEach(Canal::encerrar);
+    }
+
+    public SseEmitter assinar(Long leilaoId, Long ultimoEventoId) {
+        SseEmitter emitter = new SseEmitter(timeoutMs);
+        // Reservado sob a trava do mapa: o heartbeat não remove o canal antes da inscrição
+        Canal canal = canais.compute(leilaoId, (id, atual) -> {
+            Canal escolhido = atual != null ? atual : new Canal(tamanhoBuffer);
+            escolhido.reservas.incrementAndGet();
+            return escolhido;
+        });
+        emitter.onCompletion(() -> canal.remover(emitter));
+        emitter.onTimeout(() -> canal.remover(emitter));
+        emitter.onError(erro -> canal.remover(emitter));
+        try {
+            canal.adicionar(emitter, ultimoEventoId);
+        } finally {
+            canal.reservas.decrementAndGet();
+        }
+        return emitter;
+    }
+
+    @EventListener
+    public void aoAceitarLance(LanceAceitoEvento evento) {
+        Canal canal = canais.get(evento.leilaoId());
+        if (canal == null) {
+            return;
+        }
+        long total = livroLances.consultar(evento.leilaoId()).map(LivroLances.Topo::totalLances).orElse(0L);
+        LanceStreamDTO dto = new LanceStreamDTO(evento.lanceId(), evento.leilaoId(), evento.valorLance(),
+                evento.dataHora(), total);
+        canal.executar(() -> canal.publicar(criarMensagem(dto)), envio);
+    }
+
+    @Scheduled(fixedDelayString = "${app.lances.stream.heartbeat-ms:15000}")
+    public void heartbeat() {
+        Set<ResponseBodyEmitter.DataWithMediaType> ping = SseEmitter.event().comment("ping").build();
+        long agora = System.currentTimeMillis();
+        canais.forEach((leilaoId, canal) -> {
+            if (canal.assinantes.isEmpty()) {
+                // Canal sem assinantes mantém o buffer por um tempo para permitir a retomada;
+                // a condição é refeita sob a trava do mapa, a mesma de assinar
+                canais.compute(leilaoId, (id, atual) -> atual == canal && canal.assinantes.isEmpty()
+                        && canal.reservas.get() == 0 && agora - canal.ultimoUso > inativoMs ? null : atual);
+                return;
+            }
+            canal.executar(() -> canal.enviarParaTodos(ping), envio);
+        });
+    }
+
+    private Mensagem criarMensagem(LanceStreamDTO dto) {
+        try {
+            String json = objectMapper.writeValueAsString(dto);
+            return new Mensagem(dto.getLanceId(), SseEmitter.event()
+                    .id(String.valueOf(dto.getLanceId()))
+                    .name(NOME_EVENTO)
+                    .data(json, MediaType.APPLICATION_JSON)
+                    .build());
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Erro ao serializar lance para o stream", e);
+        }
+    }
+
+    private static class Canal {
+
+        private final List<SseEmitter> assinantes = new CopyOnWriteArrayList<>();
+        // Inscrições em andamento
+        private final AtomicInteger reservas = new AtomicInteger();
+        // Envios pendentes do canal, executados em ordem por no máximo uma thread do pool
+        private final ConcurrentLinkedQueue<Runnable> tarefas = new ConcurrentLinkedQueue<>();
+        private final AtomicBoolean drenando = new AtomicBoolean();
+        private final Mensagem[] buffer;
+        private int proximaPosicao;
+        private int quantidade;
+        private volatile long ultimoUso = System.currentTimeMillis();
+
+        Canal(int tamanhoBuffer) {
+            buffer = new Mensagem[Math.max(tamanhoBuffer, 1)];
+        }
+
+        // Retomada e inscrição sob a mesma trava da publicação: nenhum evento se perde ou duplica
+        synchronized void adicionar(SseEmitter emitter, Long ultimoEventoId) {
+            ultimoUso = System.currentTimeMillis();
+            if (ultimoEventoId != null) {
+                for (Mensagem mensagem : recentes()) {
+                    if (mensagem.id() > ultimoEventoId && !enviar(emitter, mensagem.conteudo())) {
+                        return;
+                    }
+                }
+            }
+            assinantes.add(emitter);
+        }
+
+        void executar(Runnable tarefa, Executor executor) {
+            tarefas.offer(tarefa);
+            agendar(executor);
+        }
+
+        private void agendar(Executor executor) {
+            if (drenando.compareAndSet(false, true)) {
+                executor.execute(() -> drenar(executor));
+            }
+        }
+
+        private void drenar(Executor executor) {
+            Runnable tarefa;
+            while ((tarefa = tarefas.poll()) != null) {
+                try {
+                    tarefa.run();
+                } catch (RuntimeException e) {
+                    log.error("Erro ao transmitir lance", e);
+                }
+            }
+            drenando.set(false);
+            // Tarefa oferecida entre o último poll e a liberação
+            if (!tarefas.isEmpty()) {
+                agendar(executor);
+            }
+        }
+
+        void remover(SseEmitter emitter) {
+            assinantes.remove(emitter);
+            ultimoUso = System.currentTimeMillis();
+        }
+
+        synchronized void publicar(Mensagem mensagem) {
+            buffer[proximaPosicao] = mensagem;
+            proximaPosicao = (proximaPosicao + 1) % buffer.length;
+            quantidade = Math.min(quantidade + 1, buffer.length);
+            ultimoUso = System.currentTimeMillis();
+            enviarParaTodos(mensagem.conteudo());
+        }
+
+        void enviarParaTodos(Set<ResponseBodyEmitter.DataWithMediaType> conteudo) {
+            for (SseEmitter emitter : assinantes) {
+                if (!enviar(emitter, conteudo)) {
+                    assinantes.remove(emitter);
+                }
+            }
+        }
+
+        void encerrar() {
+            assinantes.forEach(SseEmitter::complete);
+            assinantes.clear();
+        }
+
+        private List<Mensagem> recentes() {
+            List<Mensagem> recentes = new ArrayList<>(quantidade);
+            int inicio = (proximaPosicao - quantidade + buffer.length) % buffer.length;
+            for (int i = 0; i < quantidade; i++) {
+                recentes.add(buffer[(inicio + i) % buffer.length]);
+            }
+            return recentes;
+        }
+
+        private static boolean enviar(SseEmitter emitter, Set<ResponseBodyEmitter.DataWithMediaType> conteudo) {
+            try {
+                emitter.send(conteudo);
+                return true;
+            } catch (IOException | IllegalStateException e) {
+                emitter.completeWithError(e);
+                return false;
+            }
+        }
+    }
+}
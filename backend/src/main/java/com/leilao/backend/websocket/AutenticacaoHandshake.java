@@ -0,0 +1,59 @@
+package com.leilao.backend.websocket;
+
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.WebSocketHandler;
+import org.springframework.web.socket.server.HandshakeInterceptor;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import com.leilao.backend.security.JwtService;
+import com.leilao.backend.service.PessoaService;
+
+import io.jsonwebtoken.JwtException;
+
+/**
+ * Autentica o handshake do WebSocket com o mesmo JWT da API. O navegador não envia
+ * o cabeçalho Authorization no upgrade, então o token vem no parâmetro "token".
+ */
+@Component
+public class AutenticacaoHandshake implements HandshakeInterceptor {
+
+    @Autowired
+    private JwtService jwtService;
+
+    @Autowired
+    @Lazy
+    private PessoaService pessoaService;
+
+    @Override
+    public boolean beforeHandshake(ServerHttpRequest request, ServerHttpResponse response,
+                                   WebSocketHandler wsHandler, Map<String, Object> attributes) {
+        String token = UriComponentsBuilder.fromUri(request.getURI()).build()
+                .getQueryParams().getFirst("token");
+        if (token != null) {
+            try {
+                String username = jwtService.extractUsername(token);
+                var userDetails = pessoaService.loadUserByUsername(username);
+                if (jwtService.validateToken(token, userDetails.getUsername())) {
+                    return true;
+                }
+            } catch (JwtException | IllegalArgumentException | UsernameNotFoundException e) {
+                // Token inválido: recusa abaixo
+            }
+        }
+        response.setStatusCode(HttpStatus.UNAUTHORIZED);
+        return false;
+    }
+
+    @Override
+    public void afterHandshake(ServerHttpRequest request, ServerHttpResponse response,
+                               WebSocketHandler wsHandler, Exception exception) {
+    }
+}
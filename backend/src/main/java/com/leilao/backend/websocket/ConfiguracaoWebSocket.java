@@ -0,0 +1,25 @@
+package com.leilao.backend.websocket;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.socket.config.annotation.EnableWebSocket;
+import org.springframework.web.socket.config.annotation.WebSocketConfigurer;
+import org.springframework.web.socket.config.annotation.WebSocketHandlerRegistry;
+
+@Configuration
+@EnableWebSocket
+public class ConfiguracaoWebSocket implements WebSocketConfigurer {
+
+    @Autowired
+    private HubLances hubLances;
+
+    @Autowired
+    private AutenticacaoHandshake autenticacaoHandshake;
+
+    @Override
+    public void registerWebSocketHandlers(WebSocketHandlerRegistry registry) {
+        registry.addHandler(hubLances, "/ws/lances")
+                .addInterceptors(autenticacaoHandshake)
+                .setAllowedOrigins("http://localhost:3000");
+    }
+}
@@ -0,0 +1,229 @@
+package com.leilao.backend.websocket;
+
+import java.io.IOException;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.ConcurrentWebSocketSessionDecorator;
+import org.springframework.web.socket.handler.TextWebSocketHandler;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.leilao.backend.dto.ComandoHubLancesDTO;
+import com.leilao.backend.dto.LanceStreamDTO;
+import com.leilao.backend.service.LanceAceitoEvento;
+import com.leilao.backend.service.LivroLances;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Hub WebSocket de lances: cada conexão assina vários leilões e recebe o preço atual.
+ * Por conexão fica pendente apenas o último estado de cada leilão; lances intermediários
+ * são descartados se o cliente ainda não leu o anterior, e o buffer de envio acima do
+ * limite descarta as mensagens mais antigas. O envio bloqueia uma thread do pool, então
+ * a conexão que passa de app.lances.ws.limite-envio-ms num envio é fechada.
+ */
+@Component
+public class HubLances extends TextWebSocketHandler {
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private LivroLances livroLances;
+
+    @Value("${app.lances.ws.limite-envio-ms:5000}")
+    private int limiteEnvioMs;
+
+    @Value("${app.lances.ws.limite-buffer-bytes:65536}")
+    private int limiteBufferBytes;
+
+    @Value("${app.lances.ws.threads:2}")
+    private int quantidadeThreads;
+
+    private final ConcurrentHashMap<String, Conexao> conexoes = new ConcurrentHashMap<>();
+
+    private final ConcurrentHashMap<Long, Set<Conexao>> assinaturas = new ConcurrentHashMap<>();
+
+    private ExecutorService envio;
+
+    @PostConstruct
+    public void iniciar() {
+        envio = Executors.newFixedThreadPool(quantidadeThreads, r -> {
+            Thread thread = new Thread(r, "hub-lances");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    public void encerrar() {
+        envio.shutdownNow();
+    }
+
+    @Override
+    public void afterConnectionEstablished(WebSocketSession session) {
+        ConcurrentWebSocketSessionDecorator decorada = new ConcurrentWebSocketSessionDecorator(session, limiteEnvioMs, limiteBufferBytes,
+                ConcurrentWebSocketSessionDecorator.OverflowStrategy.DROP);
+        conexoes.put(session.getId(), new Conexao(decorada));
+    }
+
+    @Override
+    protected void handleTextMessage(WebSocketSession session, TextMessage message) throws IOException {
+        Conexao conexao = conexoes.get(session.getId());
+        if (conexao == null) {
+            return;
+        }
+        ComandoHubLancesDTO comando;
+        try {
+            comando = objectMapper.readValue(message.getPayload(), ComandoHubLancesDTO.class);
+        } catch (JsonProcessingException e) {
+            session.close(CloseStatus.BAD_DATA.withReason("Comando inválido"));
+            return;
+        }
+        if (comando.getLeiloes() == null) {
+            return;
+        }
+        if ("assinar".equalsIgnoreCase(comando.getAcao())) {
+            for (Long leilaoId : comando.getLeiloes()) {
+                assinar(conexao, leilaoId);
+            }
+        } else if ("cancelar".equalsIgnoreCase(comando.getAcao())) {
+            for (Long leilaoId : comando.getLeiloes()) {
+                cancelar(conexao, leilaoId);
+            }
+        } else {
+            session.close(CloseStatus.BAD_DATA.withReason("Ação desconhecida"));
+        }
+    }
+
+    @Override
+    public void afterConnectionClosed(WebSocketSession session, CloseStatus status) {
+        Conexao conexao = conexoes.remove(session.getId());
+        if (conexao != null) {
+            for (Long leilaoId : conexao.leiloes) {
+                cancelar(conexao, leilaoId);
+            }
+        }
+    }
+
+    @EventListener
+    public void aoAceitarLance(LanceAceitoEvento evento) {
+        Set<Conexao> assinantes = assinaturas.get(evento.leilaoId());
+        if (assinantes == null || assinantes.isEmpty()) {
+            return;
+        }
+        long total = livroLances.consultar(evento.leilaoId()).map(LivroLances.Topo::totalLances).orElse(0L);
+        // Serializado uma vez; a mesma mensagem vai para todas as conexões
+        TextMessage mensagem = serializar(new LanceStreamDTO(evento.lanceId(), evento.leilaoId(),
+                evento.valorLance(), evento.dataHora(), total));
+        for (Conexao conexao : assinantes) {
+            conexao.enfileirar(evento.leilaoId(), mensagem);
+        }
+    }
+
+    // Um cliente travado prende uma thread de envio até aqui; fechar a sessão solta a escrita
+    @Scheduled(fixedDelayString = "${app.lances.ws.verificacao-ms:1000}")
+    public void fecharLentas() {
+        for (Conexao conexao : conexoes.values()) {
+            if (conexao.session.getTimeSinceSendStarted() > limiteEnvioMs) {
+                conexao.fechar();
+            }
+        }
+    }
+
+    private void assinar(Conexao conexao, Long leilaoId) {
+        if (!conexao.leiloes.add(leilaoId)) {
+            return;
+        }
+        // Inclusão sob a trava do mapa: cancelar não remove o conjunto entre a busca e o add
+        assinaturas.compute(leilaoId, (id, atual) -> {
+            Set<Conexao> assinantes = atual != null ? atual : ConcurrentHashMap.newKeySet();
+            assinantes.add(conexao);
+            return assinantes;
+        });
+        // Estado inicial a partir do livro, quando o leilão já está em memória
+        livroLances.consultar(leilaoId)
+                .filter(LivroLances.Topo::possuiLance)
+                .ifPresent(topo -> conexao.enfileirar(leilaoId, serializar(new LanceStreamDTO(topo.lanceId(),
+                        leilaoId, topo.valorLance(), null, topo.totalLances()))));
+    }
+
+    private void cancelar(Conexao conexao, Long leilaoId) {
+        conexao.leiloes.remove(leilaoId);
+        conexao.pendentes.remove(leilaoId);
+        assinaturas.computeIfPresent(leilaoId, (id, assinantes) -> {
+            assinantes.remove(conexao);
+            return assinantes.isEmpty() ? null : assinantes;
+        });
+    }
+
+    private TextMessage serializar(LanceStreamDTO dto) {
+        try {
+            return new TextMessage(objectMapper.writeValueAsString(dto));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Erro ao serializar lance para o WebSocket", e);
+        }
+    }
+
+    private class Conexao {
+
+        private final ConcurrentWebSocketSessionDecorator session;
+        private final Set<Long> leiloes = ConcurrentHashMap.newKeySet();
+        // Último estado ainda não enviado de cada leilão: novos lances substituem os pendentes
+        private final ConcurrentHashMap<Long, TextMessage> pendentes = new ConcurrentHashMap<>();
+        private final AtomicBoolean agendada = new AtomicBoolean();
+
+        Conexao(ConcurrentWebSocketSessionDecorator session) {
+            this.session = session;
+        }
+
+        void enfileirar(Long leilaoId, TextMessage mensagem) {
+            pendentes.put(leilaoId, mensagem);
+            if (agendada.compareAndSet(false, true)) {
+                envio.execute(this::drenar);
+            }
+        }
+
+        private void drenar() {
+            try {
+                for (Long leilaoId : pendentes.keySet()) {
+                    TextMessage mensagem = pendentes.remove(leilaoId);
+                    if (mensagem != null && session.isOpen()) {
+                        session.sendMessage(mensagem);
+                    }
+                }
+            } catch (IOException | RuntimeException e) {
+                // Cliente lento além do limite de envio ou conexão quebrada
+                fechar();
+                return;
+            } finally {
+                agendada.set(false);
+            }
+            if (!pendentes.isEmpty() && agendada.compareAndSet(false, true)) {
+                envio.execute(this::drenar);
+            }
+        }
+
+        private void fechar() {
+            pendentes.clear();
+            try {
+                session.close(CloseStatus.SESSION_NOT_RELIABLE);
+            } catch (IOException e) {
+                // Já fechada
+            }
+        }
+    }
+}
@@ -0,0 +1,236 @@
+package com.leilao.backend;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import com.jayway.jsonpath.JsonPath;
+import com.leilao.backend.enums.StatusLeilao;
+import com.leilao.backend.enums.TipoPerfil;
+import com.leilao.backend.model.Categoria;
+import com.leilao.backend.model.Leilao;
+import com.leilao.backend.model.Perfil;
+import com.leilao.backend.model.Pessoa;
+import com.leilao.backend.model.PessoaPerfil;
+import com.leilao.backend.repository.CategoriaRepository;
+import com.leilao.backend.repository.LeilaoRepository;
+import com.leilao.backend.repository.PerfilRepository;
+import com.leilao.backend.repository.PessoaRepository;
+import com.leilao.backend.repository.ResumoLeilaoRepository;
+import com.leilao.backend.security.JwtService;
+import com.leilao.backend.service.ResumoLeilaoDesatualizadoEvento;
+
+/**
+ * Orçamento de comandos SQL por requisição nas listagens de leilões: o número de
+ * consultas não pode crescer com o número de leilões, vendedores ou categorias. Leituras
+ * condicionais (If-None-Match) respondem 304 só com a consulta de versão.
+ */
+@SpringBootTest(properties = {
+        "spring.config.on-not-found=ignore",
+        "spring.datasource.url=jdbc:h2:mem:listagens;MODE=MySQL;DB_CLOSE_DELAY=-1",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector=com.leilao.backend.ContadorSql",
+        "jwt.secret=segredo-de-teste-com-pelo-menos-32-bytes",
+        "jwt.expiration=3600000",
+        "app.leiloes.ciclo.habilitado=false",
+        "app.lances.arquivo.habilitado=false"
+})
+@AutoConfigureMockMvc
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class ConsultasListagemLeiloesTests {
+
+    // Consultas por requisição, com autenticação incluída
+    private static final int ORCAMENTO = 4;
+
+    private static final int VENDEDORES = 3;
+    private static final int LEILOES_POR_VENDEDOR = 5;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JwtService jwtService;
+
+    @Autowired
+    private PerfilRepository perfilRepository;
+
+    @Autowired
+    private PessoaRepository pessoaRepository;
+
+    @Autowired
+    private CategoriaRepository categoriaRepository;
+
+    @Autowired
+    private LeilaoRepository leilaoRepository;
+
+    @Autowired
+    private ResumoLeilaoRepository resumoLeilaoRepository;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    private Long categoriaId;
+
+    private Long leilaoId;
+
+    @BeforeAll
+    void popular() {
+        Perfil perfil = new Perfil();
+        perfil.setTipo(TipoPerfil.VENDEDOR);
+        perfil = perfilRepository.save(perfil);
+
+        for (int v = 0; v < VENDEDORES; v++) {
+            Pessoa vendedor = new Pessoa();
+            vendedor.setNome("Vendedor " + v);
+            vendedor.setEmail("vendedor" + v + "@teste.com");
+            vendedor.setSenha("senha");
+            PessoaPerfil pessoaPerfil = new PessoaPerfil();
+            pessoaPerfil.setPerfil(perfil);
+            vendedor.setPessoaPerfil(List.of(pessoaPerfil));
+            vendedor = pessoaRepository.save(vendedor);
+
+            Categoria categoria = new Categoria();
+            categoria.setNome("Categoria " + v);
+            categoria.setCriador(vendedor);
+            categoria = categoriaRepository.save(categoria);
+            categoriaId = categoria.getId();
+
+            for (int l = 0; l < LEILOES_POR_VENDEDOR; l++) {
+                Leilao leilao = new Leilao();
+                leilao.setTitulo("Relógio antigo " + v + "-" + l);
+                leilao.setDescricao("Peça de coleção");
+                leilao.setDataHoraInicio(LocalDateTime.now().plusDays(1));
+                leilao.setDataHoraFim(LocalDateTime.now().plusDays(2));
+                leilao.setValorIncremento(10f);
+                leilao.setLanceMinimo(100f);
+                leilao.setStatus(StatusLeilao.EM_ANALISE);
+                leilao.setCategoria(categoria);
+                leilao.setVendedor(vendedor);
+                leilaoId = leilaoRepository.save(leilao).getId();
+            }
+        }
+    }
+
+    @Test
+    void listagemPorStatus() throws Exception {
+        verificarOrcamento(get("/leiloes/status/EM_ANALISE"));
+    }
+
+    @Test
+    void listagemPorCategoria() throws Exception {
+        verificarOrcamento(get("/leiloes/categoria/" + categoriaId));
+    }
+
+    @Test
+    void buscaPorTitulo() throws Exception {
+        verificarOrcamento(get("/leiloes/buscar").param("titulo", "relógio"));
+    }
+
+    @Test
+    void listagemComFiltros() throws Exception {
+        verificarOrcamento(get("/leiloes/filtros").param("size", "5"));
+    }
+
+    @Test
+    void listagemPorCursor() throws Exception {
+        String primeira = verificarOrcamento(get("/leiloes/filtros").param("size", "5").param("count", "false"));
+        String cursor = JsonPath.read(primeira, "$.nextCursor");
+        verificarOrcamento(get("/leiloes/filtros").param("size", "5").param("cursor", cursor));
+    }
+
+    @Test
+    void cardsEmUmaConsulta() throws Exception {
+        // Os leilões foram gravados direto no repositório: pede o resumo e espera a projeção
+        List<Long> ids = leilaoRepository.findAll().stream().map(Leilao::getId).toList();
+        eventPublisher.publishEvent(new ResumoLeilaoDesatualizadoEvento(ids));
+        long limite = System.currentTimeMillis() + 10_000;
+        while (resumoLeilaoRepository.count() < ids.size() && System.currentTimeMillis() < limite) {
+            Thread.sleep(50);
+        }
+        assertEquals(ids.size(), resumoLeilaoRepository.count());
+
+        String primeira = verificarOrcamento(get("/leiloes/cards").param("size", "5"));
+        assertEquals(1, ContadorSql.comandos().size(), String.join("\n", ContadorSql.comandos()));
+        assertEquals(100.0, ((Number) JsonPath.read(primeira, "$.content[0].preco")).doubleValue());
+        String cursor = JsonPath.read(primeira, "$.nextCursor");
+        verificarOrcamento(get("/leiloes/cards").param("size", "5").param("cursor", cursor));
+        assertEquals(1, ContadorSql.comandos().size(), String.join("\n", ContadorSql.comandos()));
+    }
+
+    @Test
+    void leilaoNaoModificado() throws Exception {
+        String etag = verificarNaoModificado("/leiloes/" + leilaoId);
+        // UPDATE em lote também incrementa a versão
+        leilaoRepository.prorrogar(leilaoId, LocalDateTime.now().plusDays(3));
+        assertNotEquals(etag, verificarNaoModificado("/leiloes/" + leilaoId));
+    }
+
+    @Test
+    void categoriasNaoModificadas() throws Exception {
+        verificarNaoModificado("/categorias/lista");
+    }
+
+    @Test
+    void imagensNaoModificadas() throws Exception {
+        verificarNaoModificado("/imagens/leilao/" + leilaoId);
+    }
+
+    @Test
+    void condicionalLeilaoInexistente() throws Exception {
+        mockMvc.perform(get("/leiloes/0").header(HttpHeaders.IF_NONE_MATCH, "\"x\""))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void meusLeiloes() throws Exception {
+        String token = jwtService.generateToken("vendedor0@teste.com");
+        verificarOrcamento(get("/leiloes/meus").header("Authorization", "Bearer " + token));
+    }
+
+    // Segunda leitura com o ETag da primeira: 304 com uma única consulta (a de versão)
+    private String verificarNaoModificado(String url) throws Exception {
+        String etag = mockMvc.perform(get(url)).andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertNotNull(etag);
+        ContadorSql.zerar();
+        mockMvc.perform(get(url).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, etag));
+        assertEquals(1, ContadorSql.comandos().size(), String.join("\n", ContadorSql.comandos()));
+        return etag;
+    }
+
+    private String verificarOrcamento(MockHttpServletRequestBuilder requisicao) throws Exception {
+        ContadorSql.zerar();
+        String corpo = mockMvc.perform(requisicao).andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        List<String> comandos = ContadorSql.comandos();
+        assertTrue(comandos.size() <= ORCAMENTO, "Listagem executou " + comandos.size()
+                + " comandos SQL; orçamento é " + ORCAMENTO + ":\n" + String.join("\n", comandos));
+        // Listagens leem só as colunas dos DTOs: nada da descrição detalhada
+        assertTrue(comandos.stream().noneMatch(sql -> sql.contains("descricao_detalhada")),
+                "Listagem leu a descrição detalhada:\n" + String.join("\n", comandos));
+        return corpo;
+    }
+}
@@ -0,0 +1,29 @@
+package com.leilao.backend;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Conta os comandos SQL preparados pelo Hibernate na thread corrente. Registrado pela
+ * propriedade hibernate.session_factory.statement_inspector nos testes de consultas.
+ */
+public class ContadorSql implements StatementInspector {
+
+    private static final ThreadLocal<List<String>> COMANDOS = ThreadLocal.withInitial(ArrayList::new);
+
+    public static void zerar() {
+        COMANDOS.get().clear();
+    }
+
+    public static List<String> comandos() {
+        return List.copyOf(COMANDOS.get());
+    }
+
+    @Override
+    public String inspect(String sql) {
+        COMANDOS.get().add(sql);
+        return sql;
+    }
+}
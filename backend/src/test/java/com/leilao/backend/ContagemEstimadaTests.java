@@ -0,0 +1,107 @@
+package com.leilao.backend;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.time.LocalDateTime;
+
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.leilao.backend.enums.StatusLeilao;
+import com.leilao.backend.model.Categoria;
+import com.leilao.backend.model.Leilao;
+import com.leilao.backend.model.Pessoa;
+import com.leilao.backend.repository.CategoriaRepository;
+import com.leilao.backend.repository.LeilaoRepository;
+import com.leilao.backend.repository.PessoaRepository;
+
+/**
+ * Total estimado acima de app.paginacao.contagem.limite-exato: numa página além do limite
+ * o piso não pode ficar atrás da própria página.
+ */
+@SpringBootTest(properties = {
+        "spring.config.on-not-found=ignore",
+        "spring.datasource.url=jdbc:h2:mem:contagem;MODE=MySQL;DB_CLOSE_DELAY=-1",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "jwt.secret=segredo-de-teste-com-pelo-menos-32-bytes",
+        "jwt.expiration=3600000",
+        "app.leiloes.ciclo.habilitado=false",
+        "app.lances.arquivo.habilitado=false",
+        "app.paginacao.contagem.limite-exato=3"
+})
+@AutoConfigureMockMvc
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class ContagemEstimadaTests {
+
+    private static final int LEILOES = 10;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private PessoaRepository pessoaRepository;
+
+    @Autowired
+    private CategoriaRepository categoriaRepository;
+
+    @Autowired
+    private LeilaoRepository leilaoRepository;
+
+    @BeforeAll
+    void popular() {
+        Pessoa vendedor = new Pessoa();
+        vendedor.setNome("Vendedor");
+        vendedor.setEmail("vendedor@teste.com");
+        vendedor.setSenha("senha");
+        vendedor = pessoaRepository.save(vendedor);
+
+        Categoria categoria = new Categoria();
+        categoria.setNome("Relógios");
+        categoria.setCriador(vendedor);
+        categoria = categoriaRepository.save(categoria);
+
+        for (int l = 0; l < LEILOES; l++) {
+            Leilao leilao = new Leilao();
+            leilao.setTitulo("Relógio antigo " + l);
+            leilao.setDescricao("Peça de coleção");
+            leilao.setDataHoraInicio(LocalDateTime.now().plusDays(1));
+            leilao.setDataHoraFim(LocalDateTime.now().plusDays(2));
+            leilao.setValorIncremento(10f);
+            leilao.setLanceMinimo(100f);
+            leilao.setStatus(StatusLeilao.EM_ANALISE);
+            leilao.setCategoria(categoria);
+            leilao.setVendedor(vendedor);
+            leilaoRepository.save(leilao);
+        }
+    }
+
+    @Test
+    void paginaAlemDoLimite() throws Exception {
+        // Deslocamento 6 com o limite em 3: o total precisa passar da página e indicar a seguinte
+        mockMvc.perform(get("/leiloes/filtros").param("size", "2").param("page", "3"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalEstimated").value(true))
+                .andExpect(jsonPath("$.hasNext").value(true))
+                .andExpect(jsonPath("$.totalElements").value(Matchers.greaterThanOrEqualTo(9)))
+                .andExpect(jsonPath("$.totalPages").value(Matchers.greaterThanOrEqualTo(5)));
+    }
+
+    @Test
+    void primeiraPaginaUsaOLimite() throws Exception {
+        mockMvc.perform(get("/leiloes/filtros").param("size", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalEstimated").value(true))
+                .andExpect(jsonPath("$.totalElements").value(3));
+    }
+}
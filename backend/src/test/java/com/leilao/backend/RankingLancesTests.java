@@ -0,0 +1,152 @@
+package com.leilao.backend;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.leilao.backend.enums.StatusLeilao;
+import com.leilao.backend.enums.TipoPerfil;
+import com.leilao.backend.model.Categoria;
+import com.leilao.backend.model.Lance;
+import com.leilao.backend.model.Leilao;
+import com.leilao.backend.model.Perfil;
+import com.leilao.backend.model.Pessoa;
+import com.leilao.backend.model.PessoaPerfil;
+import com.leilao.backend.repository.CategoriaRepository;
+import com.leilao.backend.repository.LanceRepository;
+import com.leilao.backend.repository.LeilaoRepository;
+import com.leilao.backend.repository.PerfilRepository;
+import com.leilao.backend.repository.PessoaRepository;
+import com.leilao.backend.security.JwtService;
+
+/**
+ * Ranking em memória dos maiores lances (GET /lances/leilao/{id}/top): lances excluídos
+ * saem dele sem esperar o leilão deixar a memória.
+ */
+@SpringBootTest(properties = {
+        "spring.config.on-not-found=ignore",
+        "spring.datasource.url=jdbc:h2:mem:ranking;MODE=MySQL;DB_CLOSE_DELAY=-1",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "jwt.secret=segredo-de-teste-com-pelo-menos-32-bytes",
+        "jwt.expiration=3600000",
+        "app.leiloes.ciclo.habilitado=false",
+        "app.lances.arquivo.habilitado=false"
+})
+@AutoConfigureMockMvc
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class RankingLancesTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JwtService jwtService;
+
+    @Autowired
+    private PerfilRepository perfilRepository;
+
+    @Autowired
+    private PessoaRepository pessoaRepository;
+
+    @Autowired
+    private CategoriaRepository categoriaRepository;
+
+    @Autowired
+    private LeilaoRepository leilaoRepository;
+
+    @Autowired
+    private LanceRepository lanceRepository;
+
+    private Long leilaoId;
+
+    private Long menorLanceId;
+
+    private Long maiorLanceId;
+
+    private String token;
+
+    @BeforeAll
+    void popular() {
+        Perfil perfil = new Perfil();
+        perfil.setTipo(TipoPerfil.VENDEDOR);
+        perfil = perfilRepository.save(perfil);
+
+        Pessoa vendedor = new Pessoa();
+        vendedor.setNome("Vendedor");
+        vendedor.setEmail("vendedor@teste.com");
+        vendedor.setSenha("senha");
+        PessoaPerfil pessoaPerfil = new PessoaPerfil();
+        pessoaPerfil.setPerfil(perfil);
+        vendedor.setPessoaPerfil(List.of(pessoaPerfil));
+        vendedor = pessoaRepository.save(vendedor);
+        token = jwtService.generateToken(vendedor.getEmail());
+
+        Pessoa comprador = new Pessoa();
+        comprador.setNome("Comprador");
+        comprador.setEmail("comprador@teste.com");
+        comprador.setSenha("senha");
+        comprador = pessoaRepository.save(comprador);
+
+        Categoria categoria = new Categoria();
+        categoria.setNome("Relógios");
+        categoria.setCriador(vendedor);
+        categoria = categoriaRepository.save(categoria);
+
+        Leilao leilao = new Leilao();
+        leilao.setTitulo("Relógio antigo");
+        leilao.setDescricao("Peça de coleção");
+        leilao.setDataHoraInicio(LocalDateTime.now().minusHours(1));
+        leilao.setDataHoraFim(LocalDateTime.now().plusDays(1));
+        leilao.setValorIncremento(10f);
+        leilao.setLanceMinimo(100f);
+        leilao.setStatus(StatusLeilao.ABERTO);
+        leilao.setCategoria(categoria);
+        leilao.setVendedor(vendedor);
+        leilao = leilaoRepository.save(leilao);
+        leilaoId = leilao.getId();
+
+        menorLanceId = lanceRepository.save(lance(leilao, comprador, 100f)).getId();
+        maiorLanceId = lanceRepository.save(lance(leilao, comprador, 110f)).getId();
+    }
+
+    @Test
+    void lanceExcluidoSaiDoTopo() throws Exception {
+        String autorizacao = "Bearer " + token;
+        // Primeira leitura carrega o ranking em memória
+        mockMvc.perform(get("/lances/leilao/" + leilaoId + "/top").header("Authorization", autorizacao))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id").value(maiorLanceId));
+
+        mockMvc.perform(delete("/lances/" + maiorLanceId).header("Authorization", autorizacao))
+                .andExpect(status().isNoContent());
+
+        mockMvc.perform(get("/lances/leilao/" + leilaoId + "/top").header("Authorization", autorizacao))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].id").value(menorLanceId));
+    }
+
+    private static Lance lance(Leilao leilao, Pessoa comprador, float valor) {
+        Lance lance = new Lance();
+        lance.setLeilao(leilao);
+        lance.setComprador(comprador);
+        lance.setValorLance(valor);
+        lance.setDataHora(LocalDateTime.now());
+        return lance;
+    }
+}